@@ -61,62 +61,23 @@ public final class AllCardsIntoFutureExecutor implements AbilityExecutor {
             throw new IllegalStateException("Selected card cannot provide this ability or has reached usage limit");
         }
 
-        // Spend 1 candy and increment abilitiesTriggered on the selected provider card
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
-        List<Card> updatedPresent = new ArrayList<>(presentCards);
-        updatedPresent.set(providerIndex, updatedProviderCard);
-
-        // Prepare future areas and present/draw/past updates
-        int counter = s.activeAllCardsInFutureAreas();
-        List<FutureArea> newFutures = new ArrayList<>();
-        PresentArea newPresentArea;
-        DrawStack newDrawStack = s.drawStack();
-        PastArea newPastArea = s.past();
-
-        // Convert all present cards to fromDrawStack=false when moving into future
-        List<Card> toFuture = new ArrayList<>(updatedPresent.size());
-        for (Card c : updatedPresent) {
-            toFuture.add(new Card(c.number(), c.abilitiesTriggered(), c.maxAbilities(), false));
-        }
+        GameStateBuilder b = GameStateBuilder.from(s);
 
-        if (counter == 0) {
-            // First activation: move present to new future, clear present, then draw up to 3 cards for present
-            newFutures.add(new FutureArea(List.copyOf(toFuture)));
-            newFutures.addAll(s.futureAreas());
-
-            // Use DrawHelpers to draw up to 3 cards for the present area
-            DrawHelpers.Result drawResult = DrawHelpers.drawUpTo(3, s.drawStack(), s.past());
-            newPresentArea = new PresentArea(List.copyOf(drawResult.drawn));
-            newDrawStack = drawResult.newDraw;
-            newPastArea = drawResult.newPast;
-        } else {
-            // Already have future areas active: shift first deeper and place present into first future area
-            // First, the new first future area is the current present (toFuture)
-            newFutures.add(new FutureArea(List.copyOf(toFuture)));
-            // Then all existing future areas follow as-is (first becomes second, etc.)
-            newFutures.addAll(s.futureAreas());
-
-            // Draw up to 3 cards for present area using DrawHelpers
-            DrawHelpers.Result drawResult = DrawHelpers.drawUpTo(3, s.drawStack(), s.past());
-            newPresentArea = new PresentArea(List.copyOf(drawResult.drawn));
-            newDrawStack = drawResult.newDraw;
-            newPastArea = drawResult.newPast;
-        }
+        // Spend 1 candy and increment abilitiesTriggered on the selected provider card
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        List<Card> present = b.present();
+        present.set(providerIndex, providerCard.withAbilityTriggered());
 
+        // Move all present cards (marked fromDrawStack=false) into a new first future area;
+        // existing future areas follow as-is (first becomes second, etc.)
+        present.replaceAll(c -> c.withFromDrawStack(false));
+        b.futureAreas().add(0, new FutureArea(List.copyOf(present)));
+        present.clear();
 
-        int newCounter = counter + 1;
+        // Draw up to 3 cards for the present area
+        DrawHelpers.drawUpTo(3, b);
 
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                newDrawStack,
-                newPresentArea,
-                newPastArea,
-                List.copyOf(newFutures),
-                s.finishedPile(),
-                newCounter
-        );
+        b.activeAllCardsInFutureAreas(s.activeAllCardsInFutureAreas() + 1);
+        return b.build();
     }
 }
\ No newline at end of file
@@ -46,11 +46,11 @@ public final class BeginGameExecutor implements AbilityExecutor {
         // Build shuffled deck: 1..47 shuffled, then 48 at bottom
         List<Card> top47 = new ArrayList<>(47);
         for (int i = 1; i <= 47; i++) {
-            top47.add(new Card(i, 0, getMaxAbilitiesForCard(i)));
+            top47.add(Card.of(i, 0, getMaxAbilitiesForCard(i)));
         }
         Collections.shuffle(top47, random);
         Deque<Card> deque = new ArrayDeque<>(top47);
-        deque.addLast(new Card(48, 0, getMaxAbilitiesForCard(48))); // Card 48 is always the bottom card
+        deque.addLast(Card.of(48, 0, getMaxAbilitiesForCard(48))); // Card 48 is always the bottom card
 
         // Construct empty areas and piles
         PresentArea emptyPresent = new PresentArea(List.of());
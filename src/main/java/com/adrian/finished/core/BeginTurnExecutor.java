@@ -24,54 +24,30 @@ public final class BeginTurnExecutor implements AbilityExecutor {
 
     @Override
     public GameState apply(AbilityContext context) {
-        System.out.println("ADRIAN 2");
         if (context.ability() != AbilitySpec.BEGIN_TURN) {
             throw new IllegalArgumentException("BeginTurnExecutor can only execute BEGIN_TURN ability");
         }
-        System.out.println("ADRIAN 3");
         Objects.requireNonNull(context.state(), "state");
 
         GameState s = context.state();
 
-        System.out.println("ADRIAN 3");
         int counter = s.activeAllCardsInFutureAreas();
-        System.out.println("ADRIAN 3");
-        PresentArea newPresent;
-        List<FutureArea> newFutures;
-        int newCounter;
-        DrawStack newDrawStack = s.drawStack();
+        GameStateBuilder b = GameStateBuilder.from(s);
+        List<Card> present = b.present();
+        present.clear();
 
         if (counter > 0 && !s.futureAreas().isEmpty()) {
-            // Resolve the first future area into present
-            FutureArea first = s.futureAreas().getFirst();
-            newPresent = new PresentArea(first.cards());
-            // Remove the first future area
-            newFutures = List.copyOf(s.futureAreas().subList(1, s.futureAreas().size()));
-            newCounter = counter - 1;
+            // Resolve the first future area into present and remove it
+            present.addAll(b.futureAreas().remove(0).cards());
+            b.activeAllCardsInFutureAreas(counter - 1);
         } else {
-            System.out.println("ADRIAN 4");
-            System.out.println(s.drawStack().cards().size());
             // Draw up to 3 cards from the draw stack
-            Deque<Card> source = new ArrayDeque<>(s.drawStack().cards());
-            List<Card> drawn = new ArrayList<>(3);
+            Deque<Card> source = b.drawStack();
             for (int i = 0; i < 3 && !source.isEmpty(); i++) {
-                drawn.add(source.removeFirst());
+                present.add(source.removeFirst());
             }
-            newPresent = new PresentArea(List.copyOf(drawn));
-            newDrawStack = new DrawStack(source);
-            newFutures = s.futureAreas();
-            newCounter = counter; // unchanged
         }
 
-        return new GameState(
-                s.activeStash(),
-                s.reservedStash(),
-                newDrawStack,
-                newPresent,
-                s.past(),
-                newFutures,
-                s.finishedPile(),
-                newCounter
-        );
+        return b.build();
     }
 }
@@ -66,9 +66,6 @@ public final class BelowTheStackExecutor implements AbilityExecutor {
             throw new IllegalStateException("Selected card cannot provide this ability");
         }
 
-        // Process candy cost
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-
         // Determine whether provider has remaining capacity
         boolean providerHasCapacity = providerCard.abilitiesTriggered() < providerCard.maxAbilities();
 
@@ -77,55 +74,36 @@ public final class BelowTheStackExecutor implements AbilityExecutor {
             return s;
         }
 
+        // Process candy cost
+        GameStateBuilder b = GameStateBuilder.from(s);
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+
         // Build the list of present cards to base candy return on:
         // - If provider has capacity, increment it before resetting so one more candy is returned from provider.
         // - If provider is at limit, do not increment, but still proceed with reset and moving cards under draw.
-        List<Card> presentForReset;
+        List<Card> presentForReset = b.present();
         if (providerHasCapacity) {
-            Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                    providerCard.maxAbilities(), providerCard.fromDrawStack());
-            List<Card> updatedPresentCards = new ArrayList<>(presentCards);
-            updatedPresentCards.set(providerIndex, updatedProviderCard);
-            presentForReset = updatedPresentCards;
-        } else {
-            presentForReset = presentCards;
+            presentForReset.set(providerIndex, providerCard.withAbilityTriggered());
         }
 
-        // Count total candies to return (from ALL present cards, with provider possibly incremented)
+        // Count total candies to return (from ALL present cards, with provider possibly incremented) and
+        // place all present cards under the draw stack in order, reset to 0 abilities (candies removed)
         int candiesToReturn = 0;
-        List<Card> resetPresentCards = new ArrayList<>();
-
+        Deque<Card> drawStack = b.drawStack();
         for (Card card : presentForReset) {
             candiesToReturn += card.abilitiesTriggered();
-            // Reset all cards to 0 abilities (candies removed)
-            Card resetCard = new Card(card.number(), 0, card.maxAbilities(), card.fromDrawStack());
-            resetPresentCards.add(resetCard);
+            drawStack.addLast(card.withAbilitiesReset());
         }
 
         // Update reserved stash with returned candies
-        Stash newReservedStash = new Stash(
+        b.reservedStash(new Stash(
                 s.reservedStash().candy() + candiesToReturn,
                 s.reservedStash().coffee()
-        );
+        ));
 
-        // Place all present cards under the draw stack in order
-        Deque<Card> newDrawStack = new ArrayDeque<>(s.drawStack().cards());
-        for (Card card : resetPresentCards) {
-            newDrawStack.addLast(card);
-        }
+        // Clear present area; past area unchanged - END_TURN_END will handle cleanup
+        presentForReset.clear();
 
-        // Clear present area
-        PresentArea newPresent = new PresentArea(List.of());
-
-        return new GameState(
-                newActiveStash,
-                newReservedStash,
-                new DrawStack(newDrawStack),
-                newPresent,
-                s.past(), // Past area unchanged - END_TURN_END will handle cleanup
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
\ No newline at end of file
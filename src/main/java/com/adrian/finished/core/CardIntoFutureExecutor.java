@@ -74,13 +74,10 @@ public final class CardIntoFutureExecutor implements AbilityExecutor {
         }
 
         // Process candy cost and ability tracking for the provider card
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
-
-        // Update present cards with the ability tracking
-        List<Card> updatedPresentCards = new ArrayList<>(presentCards);
-        updatedPresentCards.set(providerIndex, updatedProviderCard);
+        GameStateBuilder b = GameStateBuilder.from(s);
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        List<Card> present = b.present();
+        present.set(providerIndex, providerCard.withAbilityTriggered());
 
         // Step 2: Player selects which card to move to future
         List<Integer> selected = context.provider().selectPresentCardIndices(s, 1);
@@ -88,29 +85,16 @@ public final class CardIntoFutureExecutor implements AbilityExecutor {
             throw new IllegalStateException("Expected exactly 1 card selection for moving to future, got: " + selected.size());
         }
         int moveIndex = selected.getFirst();
-        Card futureCard = getCard(moveIndex, updatedPresentCards);
+        Card futureCard = getCard(moveIndex, present);
 
-        // Build new present area without the chosen card
-        List<Card> newPresent = new ArrayList<>(updatedPresentCards);
-        newPresent.remove(moveIndex);
+        // Remove the chosen card from present
+        present.remove(moveIndex);
 
         // Prepend a new future area containing the chosen card
-        List<FutureArea> newFutures = new ArrayList<>();
-        newFutures.add(new FutureArea(List.of(futureCard)));
-        newFutures.addAll(s.futureAreas());
-
-        int newCounter = s.activeAllCardsInFutureAreas() + 1;
-
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                s.drawStack(),
-                new PresentArea(List.copyOf(newPresent)),
-                s.past(),
-                List.copyOf(newFutures),
-                s.finishedPile(),
-                newCounter
-        );
+        b.futureAreas().add(0, new FutureArea(List.of(futureCard)));
+        b.activeAllCardsInFutureAreas(s.activeAllCardsInFutureAreas() + 1);
+
+        return b.build();
     }
 
     private static Card getCard(int moveIndex, List<Card> updatedPresentCards) {
@@ -122,7 +106,6 @@ public final class CardIntoFutureExecutor implements AbilityExecutor {
         Card chosenToMove = updatedPresentCards.get(moveIndex);
 
         // Prepare card for future (fromDrawStack=false for future resolution)
-        return new Card(chosenToMove.number(), chosenToMove.abilitiesTriggered(),
-                chosenToMove.maxAbilities(), false);
+        return chosenToMove.withFromDrawStack(false);
     }
 }
\ No newline at end of file
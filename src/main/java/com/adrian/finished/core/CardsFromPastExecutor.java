@@ -59,19 +59,17 @@ public final class CardsFromPastExecutor implements AbilityExecutor {
         }
 
         // Spend candy and increment provider's abilitiesTriggered
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
-
-        List<Card> newPresent = new ArrayList<>(presentCards);
-        newPresent.set(providerIndex, updatedProviderCard);
+        GameStateBuilder b = GameStateBuilder.from(s);
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        List<Card> present = b.present();
+        present.set(providerIndex, providerCard.withAbilityTriggered());
 
         // Step 2: Move up to the last two cards from Past into Present
-        Deque<Card> newPast = new ArrayDeque<>(s.past().cards());
+        Deque<Card> past = b.past();
         List<Card> movedFromPast = new ArrayList<>(2);
         for (int i = 0; i < 2; i++) {
-            if (newPast.isEmpty()) break;
-            Card c = newPast.removeLast(); // take newest first
+            if (past.isEmpty()) break;
+            Card c = past.removeLast(); // take newest first
             movedFromPast.add(c);
         }
         // We want to append them in chronological order (older before newer)
@@ -79,18 +77,9 @@ public final class CardsFromPastExecutor implements AbilityExecutor {
 
         for (Card c : movedFromPast) {
             // Mark as not from draw stack when retrieved from past
-            newPresent.add(new Card(c.number(), c.abilitiesTriggered(), c.maxAbilities(), false));
+            present.add(c.withFromDrawStack(false));
         }
 
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                s.drawStack(),
-                new PresentArea(List.copyOf(newPresent)),
-                new PastArea(newPast),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
@@ -71,14 +71,13 @@ public final class CardsIntoPastExecutor implements AbilityExecutor {
             throw new IllegalStateException("Selected card cannot provide this ability or has reached usage limit");
         }
 
-        // Process candy cost and ability tracking for the provider card
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
+        // All edits below go into a single working copy of the state
+        GameStateBuilder b = GameStateBuilder.from(s);
 
-        // Update present cards with the ability tracking
-        List<Card> updatedPresentCards = new ArrayList<>(presentCards);
-        updatedPresentCards.set(providerIndex, updatedProviderCard);
+        // Process candy cost and ability tracking for the provider card
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        List<Card> present = b.present();
+        present.set(providerIndex, providerCard.withAbilityTriggered());
 
         // Step 2: Player selects 2 cards to move to past
         List<Integer> selectedIndices = context.provider().selectPresentCardIndices(s, 2);
@@ -90,64 +89,40 @@ public final class CardsIntoPastExecutor implements AbilityExecutor {
 
         // Ensure indices are valid and unique
         for (int index : selectedIndices) {
-            if (index < 0 || index >= updatedPresentCards.size()) {
+            if (index < 0 || index >= present.size()) {
                 throw new IllegalStateException("Invalid card index: " + index);
             }
         }
-        if (selectedIndices.get(0).equals(selectedIndices.get(1))) {
+        int first = selectedIndices.get(0);
+        int second = selectedIndices.get(1);
+        if (first == second) {
             throw new IllegalStateException("Selected indices must be different");
         }
 
         // Collect selected cards in selection order before removing them
-        List<Card> selectedCards = new ArrayList<>(2);
-        selectedCards.add(updatedPresentCards.get(selectedIndices.get(0)));
-        selectedCards.add(updatedPresentCards.get(selectedIndices.get(1)));
+        Card firstCard = present.get(first);
+        Card secondCard = present.get(second);
 
-        // Remove selected cards from present (in reverse index order to maintain indices)
-        List<Integer> sortedIndices = new ArrayList<>(selectedIndices);
-        sortedIndices.sort((a, b) -> Integer.compare(b, a)); // Sort descending
-
-        List<Card> newPresentCards = new ArrayList<>(updatedPresentCards);
-        for (int index : sortedIndices) {
-            newPresentCards.remove(index);
-        }
+        // Remove selected cards from present (higher index first to maintain indices)
+        present.remove(Math.max(first, second));
+        present.remove(Math.min(first, second));
 
         // Add selected cards to past in the order they were originally selected
-        Deque<Card> newPast = new ArrayDeque<>(s.past().cards());
-        for (Card card : selectedCards) {
-            newPast.addLast(card);
-        }
+        Deque<Card> past = b.past();
+        past.addLast(firstCard);
+        past.addLast(secondCard);
 
         // Draw 2 replacement cards: from draw stack if available, otherwise from past
-        Deque<Card> drawSource = new ArrayDeque<>(s.drawStack().cards());
-        List<Card> replacements = new ArrayList<>(2);
-
+        Deque<Card> drawSource = b.drawStack();
         for (int i = 0; i < 2; i++) {
-            Card replacement = null;
             if (!drawSource.isEmpty()) {
-                replacement = drawSource.removeFirst();
-            } else if (!newPast.isEmpty()) {
-                Card fromPast = newPast.removeFirst();
+                present.add(drawSource.removeFirst());
+            } else if (!past.isEmpty()) {
                 // Mark as not from draw stack when retrieved from past
-                replacement = new Card(fromPast.number(), fromPast.abilitiesTriggered(), fromPast.maxAbilities(), false);
-            }
-            if (replacement != null) {
-                replacements.add(replacement);
+                present.add(past.removeFirst().withFromDrawStack(false));
             }
         }
 
-        // Add replacement cards to present
-        newPresentCards.addAll(replacements);
-
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                new DrawStack(drawSource),
-                new PresentArea(List.copyOf(newPresentCards)),
-                new PastArea(newPast),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
\ No newline at end of file
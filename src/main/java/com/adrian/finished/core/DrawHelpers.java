@@ -1,11 +1,8 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.Card;
-import com.adrian.finished.model.DrawStack;
-import com.adrian.finished.model.PastArea;
+import com.adrian.finished.model.GameStateBuilder;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 
@@ -17,37 +14,25 @@ final class DrawHelpers {
     private DrawHelpers() {}
 
     /**
-     * Draws up to count cards, preferring draw stack, then past (newest first from past).
-     * Cards from draw stack keep their fromDrawStack flag (usually true); from past they are flagged false.
+     * Draws up to count cards into the builder's present area, preferring draw stack, then past (newest first
+     * from past), editing its draw stack and past in place. Cards from draw stack keep their fromDrawStack
+     * flag (usually true); from past they are flagged false.
+     *
+     * @return the number of cards actually drawn
      */
-    static Result drawUpTo(int count, DrawStack drawStack, PastArea past) {
-        Deque<Card> ds = new ArrayDeque<>(drawStack.cards());
-        Deque<Card> pastDeque = new ArrayDeque<>(past.cards());
-        List<Card> drawn = new ArrayList<>(count);
-
-        for (int i = 0; i < count; i++) {
+    static int drawUpTo(int count, GameStateBuilder builder) {
+        Deque<Card> ds = builder.drawStack();
+        List<Card> present = builder.present();
+        int drawn = 0;
+        for (; drawn < count; drawn++) {
             if (!ds.isEmpty()) {
-                Card c = ds.removeFirst();
-                drawn.add(c); // keep original fromDrawStack flag (should be true for deck-created cards)
-            } else if (!pastDeque.isEmpty()) {
-                Card c = pastDeque.removeLast(); // newest from past
-                // mark as fromDrawStack = false when retrieved from past
-                drawn.add(new Card(c.number(), c.abilitiesTriggered(), c.maxAbilities(), false));
+                present.add(ds.removeFirst());
+            } else if (!builder.past().isEmpty()) {
+                present.add(builder.past().removeLast().withFromDrawStack(false)); // newest from past
             } else {
                 break; // no more sources
             }
         }
-        return new Result(new DrawStack(ds), new PastArea(pastDeque), drawn);
-    }
-
-    static class Result {
-        final DrawStack newDraw;
-        final PastArea newPast;
-        final List<Card> drawn;
-        Result(DrawStack newDraw, PastArea newPast, List<Card> drawn) {
-            this.newDraw = newDraw;
-            this.newPast = newPast;
-            this.drawn = drawn;
-        }
+        return drawn;
     }
 }
@@ -2,13 +2,12 @@ package com.adrian.finished.core;
 
 import com.adrian.finished.model.Card;
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.Stash;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -61,26 +60,13 @@ public final class DrawOneExecutor implements AbilityExecutor {
         }
 
         // Spend candy and increment provider
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
-
-        List<Card> newPresent = new ArrayList<>(presentCards);
-        newPresent.set(providerIndex, updatedProviderCard);
+        GameStateBuilder b = GameStateBuilder.from(s);
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        b.present().set(providerIndex, providerCard.withAbilityTriggered());
 
         // Draw up to one card
-        DrawHelpers.Result res = DrawHelpers.drawUpTo(1, s.drawStack(), s.past());
-        newPresent.addAll(res.drawn);
+        DrawHelpers.drawUpTo(1, b);
 
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                res.newDraw,
-                new PresentArea(List.copyOf(newPresent)),
-                res.newPast,
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
@@ -1,7 +1,7 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.Stash;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
@@ -43,15 +43,6 @@ public final class DrinkCofeeExecutor implements AbilityExecutor {
 
         Stash newActive = new Stash(s.activeStash().candy(), coffee - 1);
 
-        return new GameState(
-                newActive,
-                s.reservedStash(),
-                s.drawStack(),
-                new PresentArea(s.present().cards()),
-                s.past(),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return GameStateBuilder.from(s).activeStash(newActive).build();
     }
 }
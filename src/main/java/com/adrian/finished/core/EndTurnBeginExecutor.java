@@ -7,9 +7,7 @@ import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
 
-import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -32,11 +30,10 @@ public final class EndTurnBeginExecutor implements AbilityExecutor {
 
         GameState s = context.state();
 
+        GameStateBuilder b = GameStateBuilder.from(s);
+
         // Step 1: Move all cards from Past area below the draw stack (if any)
-        Deque<Card> newDrawStackDeque = new ArrayDeque<>(s.drawStack().cards());
-        // Add all past cards below the draw stack (at the end)
-        newDrawStackDeque.addAll(s.past().cards());
-        DrawStack newDrawStack = new DrawStack(newDrawStackDeque);
+        b.drawStack().addAll(s.past().cards());
 
         // Step 2: Calculate total candies to return from present cards (sum of abilitiesTriggered)
         int candiesToReturn = s.present().cards().stream()
@@ -44,31 +41,22 @@ public final class EndTurnBeginExecutor implements AbilityExecutor {
                 .sum();
 
         // Update reserved stash with returned candies
-        Stash newReservedStash = new Stash(
+        b.reservedStash(new Stash(
                 s.reservedStash().candy() + candiesToReturn,
                 s.reservedStash().coffee()
-        );
+        ));
 
         // Step 3: Build new Past from present cards (past is now empty after step 1)
         // Reset abilitiesTriggered to 0 for all moved cards (candies removed)
-        Deque<Card> newPastDeque = new ArrayDeque<>();
+        Deque<Card> past = b.past();
+        past.clear();
         for (Card c : s.present().cards()) {
-            Card resetCard = new Card(c.number(), 0, c.maxAbilities(), c.fromDrawStack());
-            newPastDeque.addLast(resetCard);
+            past.addLast(c.withAbilitiesReset());
         }
 
         // New Present is empty
-        PresentArea newPresent = new PresentArea(List.of());
+        b.present().clear();
 
-        return new GameState(
-                s.activeStash(),
-                newReservedStash,
-                newDrawStack,
-                newPresent,
-                new PastArea(newPastDeque),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
\ No newline at end of file
@@ -26,32 +26,19 @@ public final class EndTurnEndExecutor implements AbilityExecutor {
 
         GameState s = context.state();
 
-        Deque<Card> past = new ArrayDeque<>(s.past().cards());
-        if (past.size() <= 3) {
+        if (s.past().cards().size() <= 3) {
             return s; // nothing to do
         }
 
-        Deque<Card> draw = new ArrayDeque<>(s.drawStack().cards());
-        // Move oldest cards (from front) to the bottom of draw until only 3 remain in past
-        List<Card> moved = new ArrayList<>();
+        GameStateBuilder b = GameStateBuilder.from(s);
+        Deque<Card> past = b.past();
+        Deque<Card> draw = b.drawStack();
+        // Move oldest cards (from front) to the bottom of draw until only 3 remain in past,
+        // preserving their relative order
         while (past.size() > 3) {
-            Card c = past.removeFirst();
-            moved.add(c);
-        }
-        // Preserve relative order when appending under draw
-        for (Card c : moved) {
-            draw.addLast(c);
+            draw.addLast(past.removeFirst());
         }
 
-        return new GameState(
-                s.activeStash(),
-                s.reservedStash(),
-                new DrawStack(draw),
-                new PresentArea(s.present().cards()),
-                new PastArea(past),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
@@ -75,18 +75,14 @@ public final class ExchangeCardExecutor implements AbilityExecutor {
         }
 
         // Process candy cost and ability tracking for the provider card
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedProviderCard = new Card(providerCard.number(), providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
-
-        // Update present cards with the ability tracking
-        List<Card> updatedPresentCards = new ArrayList<>(presentCards);
-        updatedPresentCards.set(providerIndex, updatedProviderCard);
+        GameStateBuilder b = GameStateBuilder.from(s);
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
+        List<Card> present = b.present();
+        present.set(providerIndex, providerCard.withAbilityTriggered());
 
         // Draw one card from the draw stack and add it to present
-        Deque<Card> drawStack = new ArrayDeque<>(s.drawStack().cards());
-        Card drawnCard = drawStack.removeFirst();
-        updatedPresentCards.add(drawnCard); // Add to the end of present area
+        Deque<Card> drawStack = b.drawStack();
+        present.add(drawStack.removeFirst()); // Add to the end of present area
 
         // Step 2: Player selects which card from present to put back on top of draw stack
         List<Integer> selected = context.provider().selectPresentCardIndices(s, 1);
@@ -95,25 +91,14 @@ public final class ExchangeCardExecutor implements AbilityExecutor {
         }
         int exchangeIndex = selected.getFirst();
 
-        // Validate exchange selection (use updated present cards which includes the drawn card)
-        if (exchangeIndex < 0 || exchangeIndex >= updatedPresentCards.size()) {
+        // Validate exchange selection (present now includes the drawn card)
+        if (exchangeIndex < 0 || exchangeIndex >= present.size()) {
             throw new IllegalStateException("Invalid card index for exchange: " + exchangeIndex);
         }
 
         // Remove the selected card from present and place it on top of draw stack
-        Card cardToExchange = updatedPresentCards.get(exchangeIndex);
-        updatedPresentCards.remove(exchangeIndex);
-        drawStack.addFirst(cardToExchange); // Place on top of draw stack
-
-        return new GameState(
-                newActiveStash,
-                s.reservedStash(),
-                new DrawStack(drawStack),
-                new PresentArea(List.copyOf(updatedPresentCards)),
-                s.past(),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        drawStack.addFirst(present.remove(exchangeIndex));
+
+        return b.build();
     }
 }
\ No newline at end of file
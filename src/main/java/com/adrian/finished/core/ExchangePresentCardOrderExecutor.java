@@ -2,12 +2,12 @@ package com.adrian.finished.core;
 
 import com.adrian.finished.model.Card;
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -60,25 +60,9 @@ public final class ExchangePresentCardOrderExecutor implements AbilityExecutor {
             return s; // No swap needed
         }
 
-        // Create new present area with swapped cards
-        List<Card> newPresentCards = new ArrayList<>(presentCards);
-        Card card1 = newPresentCards.get(index1);
-        Card card2 = newPresentCards.get(index2);
-
-        // Swap the cards at the two positions
-        newPresentCards.set(index1, card2);
-        newPresentCards.set(index2, card1);
-
-        // Return new game state with updated present area
-        return new GameState(
-                s.activeStash(),      // Unchanged - no candy cost
-                s.reservedStash(),    // Unchanged
-                s.drawStack(),        // Unchanged
-                new PresentArea(List.copyOf(newPresentCards)), // Updated with swapped cards
-                s.past(),             // Unchanged
-                s.futureAreas(),      // Unchanged
-                s.finishedPile(),     // Unchanged
-                s.activeAllCardsInFutureAreas() // Unchanged
-        );
+        // Swap the cards at the two positions; everything else is unchanged (no candy cost)
+        GameStateBuilder b = GameStateBuilder.from(s);
+        Collections.swap(b.present(), index1, index2);
+        return b.build();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
@@ -31,17 +32,7 @@ public final class GameEndLoseExecutor implements AbilityExecutor {
 
         if (card48InPast && noCoffeeLeft) {
             // Player loses - set gameEnd flag to true
-            return new GameState(
-                    s.activeStash(),
-                    s.reservedStash(),
-                    s.drawStack(),
-                    s.present(),
-                    s.past(),
-                    s.futureAreas(),
-                    s.finishedPile(),
-                    s.activeAllCardsInFutureAreas(),
-                    true
-            );
+            return GameStateBuilder.from(s).gameEnd(true).build();
         }
 
         // Losing conditions not met - no change to gameEnd flag
@@ -2,14 +2,12 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.Card;
-import com.adrian.finished.model.FinishedPile;
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -42,7 +40,7 @@ public final class GameEndWinExecutor implements AbilityExecutor {
         }
 
         // Find card 48 in present area
-        List<Card> present = new ArrayList<>(s.present().cards());
+        List<Card> present = s.present().cards();
         int idx48 = -1;
         for (int i = 0; i < present.size(); i++) {
             if (present.get(i).number() == 48) {
@@ -53,21 +51,9 @@ public final class GameEndWinExecutor implements AbilityExecutor {
 
         if (idx48 >= 0) {
             // Score card 48 by moving it from present to finished and set gameEnd = true
-            Card card48 = present.remove(idx48);
-            List<Card> newFinished = new ArrayList<>(finished);
-            newFinished.add(card48);
-
-            return new GameState(
-                    s.activeStash(),
-                    s.reservedStash(),
-                    s.drawStack(),
-                    new PresentArea(List.copyOf(present)),
-                    s.past(),
-                    s.futureAreas(),
-                    new FinishedPile(List.copyOf(newFinished)),
-                    s.activeAllCardsInFutureAreas(),
-                    true
-            );
+            GameStateBuilder b = GameStateBuilder.from(s).gameEnd(true);
+            b.finishedPile().add(b.present().remove(idx48));
+            return b.build();
         }
 
         // Card 48 not in present - cannot win, return unchanged state
@@ -5,7 +5,6 @@ import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
 import com.adrian.finished.model.abilities.AbilitySpec;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -71,55 +70,43 @@ public final class ResetCandiesExecutor implements AbilityExecutor {
             throw new IllegalStateException("Selected card must be card 37 and not have reached usage limit");
         }
 
-        // Process candy cost and ability tracking for card 37
-        Stash newActiveStash = new Stash(s.activeStash().candy() - 1, s.activeStash().coffee());
-        Card updatedCard37 = new Card(37, providerCard.abilitiesTriggered() + 1,
-                providerCard.maxAbilities(), providerCard.fromDrawStack());
+        GameStateBuilder b = GameStateBuilder.from(s);
+
+        // Process candy cost for card 37
+        b.activeStash(new Stash(s.activeStash().candy() - 1, s.activeStash().coffee()));
 
         // Count candies to return from present area (all cards except card 37)
         int candiesToReturn = 0;
-        List<Card> newPresentCards = new ArrayList<>(presentCards);
+        List<Card> present = b.present();
 
-        for (int i = 0; i < newPresentCards.size(); i++) {
-            Card card = newPresentCards.get(i);
+        for (int i = 0; i < present.size(); i++) {
+            Card card = present.get(i);
             if (i == providerIndex) {
                 // This is card 37 - update with ability tracking but preserve its candies
-                newPresentCards.set(i, updatedCard37);
+                present.set(i, card.withAbilityTriggered());
             } else {
                 // Reset abilities for all other cards and count their candies
                 candiesToReturn += card.abilitiesTriggered();
-                Card resetCard = new Card(card.number(), 0, card.maxAbilities(), card.fromDrawStack());
-                newPresentCards.set(i, resetCard);
+                present.set(i, card.withAbilitiesReset());
             }
         }
 
         // Count and reset candies from future areas
-        List<FutureArea> newFutureAreas = new ArrayList<>();
-        for (FutureArea futureArea : s.futureAreas()) {
-            List<Card> newFutureCards = new ArrayList<>();
-            for (Card card : futureArea.cards()) {
+        List<FutureArea> futureAreas = b.futureAreas();
+        for (int i = 0; i < futureAreas.size(); i++) {
+            List<Card> futureCards = futureAreas.get(i).cards();
+            for (Card card : futureCards) {
                 candiesToReturn += card.abilitiesTriggered();
-                Card resetCard = new Card(card.number(), 0, card.maxAbilities(), card.fromDrawStack());
-                newFutureCards.add(resetCard);
             }
-            newFutureAreas.add(new FutureArea(List.copyOf(newFutureCards)));
+            futureAreas.set(i, new FutureArea(futureCards.stream().map(Card::withAbilitiesReset).toList()));
         }
 
         // Update reserved stash with returned candies
-        Stash newReservedStash = new Stash(
+        b.reservedStash(new Stash(
                 s.reservedStash().candy() + candiesToReturn,
                 s.reservedStash().coffee()
-        );
-
-        return new GameState(
-                newActiveStash,
-                newReservedStash,
-                s.drawStack(),
-                new PresentArea(List.copyOf(newPresentCards)),
-                s.past(),
-                List.copyOf(newFutureAreas),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        ));
+
+        return b.build();
     }
 }
\ No newline at end of file
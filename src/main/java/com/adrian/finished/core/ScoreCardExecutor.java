@@ -50,41 +50,21 @@ public final class ScoreCardExecutor implements AbilityExecutor {
             return s; // next number not in present, no changes
         }
 
-        // Build new Present: remove the scored card, preserve order for others
-        List<Card> newPresentList = new ArrayList<>(presentCards.size());
-        for (int i = 0; i < presentCards.size(); i++) {
-            if (i != idx) newPresentList.add(presentCards.get(i));
-        }
+        GameStateBuilder b = GameStateBuilder.from(s);
 
-        // Build new Finished: append the scored card
-        List<Card> newFinishedList = new ArrayList<>(finished.size() + 1);
-        newFinishedList.addAll(finished);
-        newFinishedList.add(presentCards.get(idx));
+        // Move the scored card from present to finished, preserving the order of the others
+        List<Card> present = b.present();
+        b.finishedPile().add(present.remove(idx));
 
         // Draw one replacement: from draw stack if available, otherwise from the past area (oldest card)
-        Deque<Card> drawSource = new ArrayDeque<>(s.drawStack().cards());
-        Deque<Card> pastSource = new ArrayDeque<>(s.past().cards());
-        Card replacement = null;
+        Deque<Card> drawSource = b.drawStack();
         if (!drawSource.isEmpty()) {
-            replacement = drawSource.removeFirst();
-        } else if (!pastSource.isEmpty()) {
-            Card fromPast = pastSource.removeFirst();
+            present.add(drawSource.removeFirst());
+        } else if (!b.past().isEmpty()) {
             // Mark as not from draw stack when retrieved from past
-            replacement = new Card(fromPast.number(), fromPast.abilitiesTriggered(), fromPast.maxAbilities(), false);
-        }
-        if (replacement != null) {
-            newPresentList.add(replacement);
+            present.add(b.past().removeFirst().withFromDrawStack(false));
         }
 
-        return new GameState(
-                s.activeStash(),
-                s.reservedStash(),
-                new DrawStack(drawSource),
-                new PresentArea(List.copyOf(newPresentList)),
-                new PastArea(pastSource),
-                s.futureAreas(),
-                new FinishedPile(List.copyOf(newFinishedList)),
-                s.activeAllCardsInFutureAreas()
-        );
+        return b.build();
     }
 }
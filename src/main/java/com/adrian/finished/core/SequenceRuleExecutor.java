@@ -1,8 +1,7 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PastArea;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.Stash;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
@@ -51,16 +50,10 @@ public final class SequenceRuleExecutor implements AbilityExecutor {
         Stash newActive = new Stash(s.activeStash().candy() + delta, s.activeStash().coffee());
         Stash newReserved = new Stash(s.reservedStash().candy() - delta, s.reservedStash().coffee());
 
-        return new GameState(
-                newActive,
-                newReserved,
-                s.drawStack(),
-                new PresentArea(s.present().cards()),
-                new PastArea(s.past().cards()),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return GameStateBuilder.from(s)
+                .activeStash(newActive)
+                .reservedStash(newReserved)
+                .build();
     }
 
     static int computeTotalAward(List<Integer> numbersInOrder) {
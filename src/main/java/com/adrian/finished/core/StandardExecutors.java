@@ -0,0 +1,59 @@
+package com.adrian.finished.core;
+
+import com.adrian.finished.model.abilities.AbilityExecutor;
+import com.adrian.finished.model.abilities.AbilitySpec;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Factory for the complete set of ability executors, one per AbilitySpec.
+ * Shared by the UI game loop and by headless drivers (solvers, analysers).
+ */
+public final class StandardExecutors {
+    private StandardExecutors() { }
+
+    /**
+     * Creates a mutable map with an executor for every ability; BEGIN_GAME shuffles with a default Random.
+     */
+    public static Map<AbilitySpec, AbilityExecutor> create() {
+        return create(new Random());
+    }
+
+    /**
+     * Creates a mutable map with an executor for every ability; BEGIN_GAME shuffles with the given Random.
+     */
+    public static Map<AbilitySpec, AbilityExecutor> create(Random random) {
+        Objects.requireNonNull(random, "random");
+        Map<AbilitySpec, AbilityExecutor> map = new EnumMap<>(AbilitySpec.class);
+
+        // Automatic abilities
+        map.put(AbilitySpec.BEGIN_GAME, new BeginGameExecutor(random));
+        map.put(AbilitySpec.BEGIN_TURN, new BeginTurnExecutor());
+        map.put(AbilitySpec.TAKE_CANDY, new TakeCandyExecutor());
+        map.put(AbilitySpec.SCORE_CARD, new ScoreCardExecutor());
+        map.put(AbilitySpec.END_TURN_BEGIN, new EndTurnBeginExecutor());
+        map.put(AbilitySpec.SEQUENCE_RULE, new SequenceRuleExecutor());
+        map.put(AbilitySpec.DRINK_COFEE, new DrinkCofeeExecutor());
+        map.put(AbilitySpec.END_TURN_END, new EndTurnEndExecutor());
+        map.put(AbilitySpec.GAME_END_WIN, new GameEndWinExecutor());
+        map.put(AbilitySpec.GAME_END_LOSE, new GameEndLoseExecutor());
+
+        // Manual abilities
+        map.put(AbilitySpec.DRAW_TWO, new DrawTwoExecutor());
+        map.put(AbilitySpec.CARDS_INTO_PAST, new CardsIntoPastExecutor());
+        map.put(AbilitySpec.ALL_CARDS_INTO_FUTURE, new AllCardsIntoFutureExecutor());
+        map.put(AbilitySpec.DRAW_ONE, new DrawOneExecutor());
+        map.put(AbilitySpec.DRAW_ONE_3X, new DrawOne3xExecutor());
+        map.put(AbilitySpec.EXCHANGE_CARD, new ExchangeCardExecutor());
+        map.put(AbilitySpec.CARDS_FROM_PAST, new CardsFromPastExecutor());
+        map.put(AbilitySpec.CARD_INTO_FUTURE, new CardIntoFutureExecutor());
+        map.put(AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER, new ExchangePresentCardOrderExecutor());
+        map.put(AbilitySpec.RESET_CANDIES, new ResetCandiesExecutor());
+        map.put(AbilitySpec.BELOW_THE_STACK, new BelowTheStackExecutor());
+
+        return map;
+    }
+}
@@ -1,7 +1,7 @@
 package com.adrian.finished.core;
 
 import com.adrian.finished.model.GameState;
-import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.GameStateBuilder;
 import com.adrian.finished.model.Stash;
 import com.adrian.finished.model.abilities.AbilityContext;
 import com.adrian.finished.model.abilities.AbilityExecutor;
@@ -56,15 +56,9 @@ public final class TakeCandyExecutor implements AbilityExecutor {
         Stash newActive = new Stash(s.activeStash().candy() + delta, s.activeStash().coffee());
         Stash newReserved = new Stash(s.reservedStash().candy() - delta, s.reservedStash().coffee());
 
-        return new GameState(
-                newActive,
-                newReserved,
-                s.drawStack(),
-                new PresentArea(s.present().cards()), // unchanged
-                s.past(),
-                s.futureAreas(),
-                s.finishedPile(),
-                s.activeAllCardsInFutureAreas()
-        );
+        return GameStateBuilder.from(s)
+                .activeStash(newActive)
+                .reservedStash(newReserved)
+                .build(); // present unchanged
     }
 }
\ No newline at end of file
@@ -10,21 +10,64 @@ package com.adrian.finished.model;
  *   Example: card 47 (drawOne3x) can be triggered up to 3 times; most others are 0 or 1.
  * - fromDrawStack: true if the card entered the present area from the draw stack on this turn,
  *   false if it came from past or future areas. This determines whether takeCandy should be applied.
+ *
+ * There are only a few hundred distinct legal cards, so instances are interned: use {@link #of} (and the
+ * {@code with...} helpers built on it) instead of the constructor so that the engine never allocates cards
+ * on its hot paths. Interned cards may be compared by reference.
  */
 public record Card(int number, int abilitiesTriggered, int maxAbilities, boolean fromDrawStack) {
+
+    /**
+     * Highest per-turn ability cap covered by the interning table (card 47 allows 3 uses).
+     */
+    private static final int MAX_INTERNED_ABILITIES = 3;
+    private static final int ABILITY_SLOTS = MAX_INTERNED_ABILITIES + 1;
+
+    /**
+     * Every legal card state with maxAbilities in [0, MAX_INTERNED_ABILITIES], indexed by {@link #slot}.
+     * Slots where abilitiesTriggered exceeds maxAbilities stay null.
+     */
+    private static final Card[] INTERNED = createInternTable();
+
     public Card {
-        if (number < 1 || number > 48) {
-            throw new IllegalArgumentException("Card number must be between 1 and 48, got: " + number);
-        }
-        if (maxAbilities < 0) {
-            throw new IllegalArgumentException("maxAbilities cannot be negative, got: " + maxAbilities);
+        // Fast path: one sign test covers every range rule below. The detailed checks (with their
+        // messages) only run in strict mode or when something is actually wrong.
+        if (ModelValidation.isStrict()
+                || ((number - 1) | (48 - number) | maxAbilities | abilitiesTriggered
+                        | (maxAbilities - abilitiesTriggered)) < 0) {
+            if (number < 1 || number > 48) {
+                throw new IllegalArgumentException("Card number must be between 1 and 48, got: " + number);
+            }
+            if (maxAbilities < 0) {
+                throw new IllegalArgumentException("maxAbilities cannot be negative, got: " + maxAbilities);
+            }
+            if (abilitiesTriggered < 0) {
+                throw new IllegalArgumentException("abilitiesTriggered cannot be negative, got: " + abilitiesTriggered);
+            }
+            if (abilitiesTriggered > maxAbilities) {
+                throw new IllegalArgumentException("abilitiesTriggered (" + abilitiesTriggered + ") cannot exceed maxAbilities (" + maxAbilities + ")");
+            }
         }
-        if (abilitiesTriggered < 0) {
-            throw new IllegalArgumentException("abilitiesTriggered cannot be negative, got: " + abilitiesTriggered);
-        }
-        if (abilitiesTriggered > maxAbilities) {
-            throw new IllegalArgumentException("abilitiesTriggered (" + abilitiesTriggered + ") cannot exceed maxAbilities (" + maxAbilities + ")");
+    }
+
+    /**
+     * Returns the canonical instance for the given card state.
+     * States outside the precomputed table fall back to a new (validated) instance.
+     */
+    public static Card of(int number, int abilitiesTriggered, int maxAbilities, boolean fromDrawStack) {
+        if (number >= 1 && number <= 48
+                && maxAbilities >= 0 && maxAbilities <= MAX_INTERNED_ABILITIES
+                && abilitiesTriggered >= 0 && abilitiesTriggered <= maxAbilities) {
+            return INTERNED[slot(number, abilitiesTriggered, maxAbilities, fromDrawStack)];
         }
+        return new Card(number, abilitiesTriggered, maxAbilities, fromDrawStack);
+    }
+
+    /**
+     * Returns the canonical instance for a card fresh from the draw stack.
+     */
+    public static Card of(int number, int abilitiesTriggered, int maxAbilities) {
+        return of(number, abilitiesTriggered, maxAbilities, true);
     }
 
     /**
@@ -42,21 +85,28 @@ public record Card(int number, int abilitiesTriggered, int maxAbilities, boolean
     }
 
     /**
-     * Creates a new card with one more ability triggered.
+     * Returns this card with one more ability triggered.
      */
     public Card withAbilityTriggered() {
         if (!canTriggerAbility()) {
             throw new IllegalStateException("Cannot trigger ability: no uses remaining");
         }
-        return new Card(number, abilitiesTriggered + 1, maxAbilities, fromDrawStack);
+        return of(number, abilitiesTriggered + 1, maxAbilities, fromDrawStack);
     }
 
     /**
-     * Creates a new card with the ability triggers reset to 0.
+     * Returns this card with the ability triggers reset to 0.
      * Typically used when moving to a new turn.
      */
     public Card withAbilitiesReset() {
-        return new Card(number, 0, maxAbilities, fromDrawStack);
+        return of(number, 0, maxAbilities, fromDrawStack);
+    }
+
+    /**
+     * Returns this card with the given fromDrawStack flag, e.g. false when it is retrieved from past or future.
+     */
+    public Card withFromDrawStack(boolean fromDrawStack) {
+        return this.fromDrawStack == fromDrawStack ? this : of(number, abilitiesTriggered, maxAbilities, fromDrawStack);
     }
 
     /**
@@ -66,4 +116,22 @@ public record Card(int number, int abilitiesTriggered, int maxAbilities, boolean
     public Card(int number, int abilitiesTriggered, int maxAbilities) {
         this(number, abilitiesTriggered, maxAbilities, true);
     }
-}
\ No newline at end of file
+
+    private static int slot(int number, int abilitiesTriggered, int maxAbilities, boolean fromDrawStack) {
+        return (((number - 1) * ABILITY_SLOTS + maxAbilities) * ABILITY_SLOTS + abilitiesTriggered) * 2
+                + (fromDrawStack ? 1 : 0);
+    }
+
+    private static Card[] createInternTable() {
+        Card[] table = new Card[48 * ABILITY_SLOTS * ABILITY_SLOTS * 2];
+        for (int number = 1; number <= 48; number++) {
+            for (int max = 0; max <= MAX_INTERNED_ABILITIES; max++) {
+                for (int triggered = 0; triggered <= max; triggered++) {
+                    table[slot(number, triggered, max, false)] = new Card(number, triggered, max, false);
+                    table[slot(number, triggered, max, true)] = new Card(number, triggered, max, true);
+                }
+            }
+        }
+        return table;
+    }
+}
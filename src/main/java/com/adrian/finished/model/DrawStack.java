@@ -15,8 +15,6 @@ import java.util.Objects;
 public record DrawStack(Deque<Card> cards) {
     public DrawStack {
         Objects.requireNonNull(cards, "cards");
-        if (cards.stream().anyMatch(Objects::isNull)) {
-            throw new IllegalArgumentException("cards cannot contain nulls");
-        }
+        ModelValidation.requireNoNullElements(cards, "cards");
     }
 }
\ No newline at end of file
@@ -9,8 +9,6 @@ import java.util.Objects;
 public record FutureArea(List<Card> cards) {
     public FutureArea {
         Objects.requireNonNull(cards, "cards");
-        if (cards.stream().anyMatch(Objects::isNull)) {
-            throw new IllegalArgumentException("cards cannot contain nulls");
-        }
+        ModelValidation.requireNoNullElements(cards, "cards");
     }
 }
\ No newline at end of file
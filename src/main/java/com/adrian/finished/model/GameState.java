@@ -25,9 +25,7 @@ public record GameState(
         Objects.requireNonNull(past, "past");
         Objects.requireNonNull(futureAreas, "futureAreas");
         Objects.requireNonNull(finishedPile, "finishedPile");
-        if (futureAreas.stream().anyMatch(Objects::isNull)) {
-            throw new IllegalArgumentException("futureAreas cannot contain nulls");
-        }
+        ModelValidation.requireNoNullElements(futureAreas, "futureAreas");
         if (activeAllCardsInFutureAreas < 0) {
             throw new IllegalArgumentException("activeAllCardsInFutureAreas cannot be negative");
         }
@@ -0,0 +1,182 @@
+package com.adrian.finished.model;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Single-owner, mutable working copy of a GameState for executors that edit several areas in one transition.
+ *
+ * Each area is copied lazily on first access to its mutable view, edited in place, and handed over to the
+ * resulting records by {@link #build()} without a further copy. Untouched areas keep the original record
+ * instances. The builder can be built only once; any use afterwards throws IllegalStateException.
+ *
+ * Not thread-safe: a builder is meant to live inside a single executor call (or fused pipeline step).
+ */
+public final class GameStateBuilder {
+
+    /**
+     * Spare capacity for mutable area copies, so that the usual "remove some, draw a few" edits don't regrow.
+     */
+    private static final int SPARE_CAPACITY = 4;
+
+    private final GameState source;
+
+    private Stash activeStash;
+    private Stash reservedStash;
+    private int activeAllCardsInFutureAreas;
+    private boolean gameEnd;
+
+    // Mutable copies; null until first requested
+    private Deque<Card> drawStack;
+    private List<Card> present;
+    private Deque<Card> past;
+    private List<FutureArea> futureAreas;
+    private List<Card> finishedPile;
+
+    private boolean built;
+
+    private GameStateBuilder(GameState source) {
+        this.source = source;
+        this.activeStash = source.activeStash();
+        this.reservedStash = source.reservedStash();
+        this.activeAllCardsInFutureAreas = source.activeAllCardsInFutureAreas();
+        this.gameEnd = source.gameEnd();
+    }
+
+    /**
+     * Starts a builder from the given state.
+     */
+    public static GameStateBuilder from(GameState state) {
+        return new GameStateBuilder(Objects.requireNonNull(state, "state"));
+    }
+
+    public Stash activeStash() {
+        ensureNotBuilt();
+        return activeStash;
+    }
+
+    public GameStateBuilder activeStash(Stash stash) {
+        ensureNotBuilt();
+        this.activeStash = Objects.requireNonNull(stash, "stash");
+        return this;
+    }
+
+    public Stash reservedStash() {
+        ensureNotBuilt();
+        return reservedStash;
+    }
+
+    public GameStateBuilder reservedStash(Stash stash) {
+        ensureNotBuilt();
+        this.reservedStash = Objects.requireNonNull(stash, "stash");
+        return this;
+    }
+
+    public int activeAllCardsInFutureAreas() {
+        ensureNotBuilt();
+        return activeAllCardsInFutureAreas;
+    }
+
+    public GameStateBuilder activeAllCardsInFutureAreas(int count) {
+        ensureNotBuilt();
+        this.activeAllCardsInFutureAreas = count;
+        return this;
+    }
+
+    public GameStateBuilder gameEnd(boolean gameEnd) {
+        ensureNotBuilt();
+        this.gameEnd = gameEnd;
+        return this;
+    }
+
+    /**
+     * Mutable draw stack; the front is the top of the stack.
+     */
+    public Deque<Card> drawStack() {
+        ensureNotBuilt();
+        if (drawStack == null) {
+            drawStack = new ModelValidation.TrustedDeque<>(source.drawStack().cards());
+        }
+        return drawStack;
+    }
+
+    /**
+     * Mutable present area, left-to-right.
+     */
+    public List<Card> present() {
+        ensureNotBuilt();
+        if (present == null) {
+            present = copyOf(source.present().cards());
+        }
+        return present;
+    }
+
+    /**
+     * Mutable past area; the newest cards are at the end.
+     */
+    public Deque<Card> past() {
+        ensureNotBuilt();
+        if (past == null) {
+            past = new ModelValidation.TrustedDeque<>(source.past().cards());
+        }
+        return past;
+    }
+
+    /**
+     * Mutable list of future areas (index 0 is the first future area). The areas themselves stay immutable.
+     */
+    public List<FutureArea> futureAreas() {
+        ensureNotBuilt();
+        if (futureAreas == null) {
+            futureAreas = new ArrayList<>(source.futureAreas().size() + 1);
+            futureAreas.addAll(source.futureAreas());
+        }
+        return futureAreas;
+    }
+
+    /**
+     * Mutable finished pile in ascending order.
+     */
+    public List<Card> finishedPile() {
+        ensureNotBuilt();
+        if (finishedPile == null) {
+            finishedPile = copyOf(source.finishedPile().cards());
+        }
+        return finishedPile;
+    }
+
+    /**
+     * Freezes the builder into an immutable GameState. Can be called only once.
+     * This is the engine's trusted construction path: the records skip their null element scans unless
+     * -Dfinished.model.strict=true.
+     */
+    public GameState build() {
+        ensureNotBuilt();
+        built = true;
+        return new GameState(
+                activeStash,
+                reservedStash,
+                drawStack == null ? source.drawStack() : new DrawStack(drawStack),
+                present == null ? source.present() : new PresentArea(ModelValidation.trustedView(present)),
+                past == null ? source.past() : new PastArea(past),
+                futureAreas == null ? source.futureAreas() : ModelValidation.trustedView(futureAreas),
+                finishedPile == null ? source.finishedPile() : new FinishedPile(ModelValidation.trustedView(finishedPile)),
+                activeAllCardsInFutureAreas,
+                gameEnd
+        );
+    }
+
+    private void ensureNotBuilt() {
+        if (built) {
+            throw new IllegalStateException("GameStateBuilder has already been built");
+        }
+    }
+
+    private static List<Card> copyOf(List<Card> cards) {
+        List<Card> copy = new ArrayList<>(cards.size() + SPARE_CAPACITY);
+        copy.addAll(cards);
+        return copy;
+    }
+}
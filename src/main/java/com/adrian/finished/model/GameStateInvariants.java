@@ -0,0 +1,116 @@
+package com.adrian.finished.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conservation invariants of the Finished! engine, evaluated on a packed form of the state.
+ *
+ * Card conservation: the 48 cards are spread across draw stack, present, past, future areas and the
+ * finished pile with no duplicates. Card identities are packed into a single {@code long} bitset
+ * (bit {@code n - 1} for card {@code n}), so a whole state is tallied in one pass without allocation.
+ *
+ * Candy conservation: candy in the active stash, the reserved stash and on cards (abilitiesTriggered)
+ * always adds up to the same total between transitions.
+ */
+public final class GameStateInvariants {
+
+    /**
+     * Bitset with one bit set for each of the 48 cards.
+     */
+    public static final long ALL_CARDS_MASK = (1L << 48) - 1;
+
+    private GameStateInvariants() { }
+
+    /**
+     * Packed summary of a state: which cards are present, which appear more than once,
+     * and the total candy in stashes plus on cards.
+     */
+    public record Tally(long cardMask, long duplicateMask, int totalCandy) {
+        public int cardCount() {
+            return Long.bitCount(cardMask);
+        }
+    }
+
+    /**
+     * Tallies every card and candy of the given state.
+     */
+    public static Tally tally(GameState state) {
+        Accumulator acc = new Accumulator();
+        acc.addAll(state.drawStack().cards());
+        acc.addAll(state.present().cards());
+        acc.addAll(state.past().cards());
+        for (FutureArea area : state.futureAreas()) {
+            acc.addAll(area.cards());
+        }
+        acc.addAll(state.finishedPile().cards());
+        int candy = acc.candyOnCards + state.activeStash().candy() + state.reservedStash().candy();
+        return new Tally(acc.seen, acc.duplicates, candy);
+    }
+
+    /**
+     * Checks a single transition.
+     *
+     * @param before          state handed to the executor
+     * @param after           state returned by the executor
+     * @param resetsInventory true for transitions that legitimately rebuild the deck and stashes (BEGIN_GAME);
+     *                        then only the after-state is checked (all 48 cards, no duplicates)
+     * @return human-readable violations; empty if the transition is consistent
+     */
+    public static List<String> checkTransition(GameState before, GameState after, boolean resetsInventory) {
+        Tally b = tally(before);
+        Tally a = tally(after);
+        List<String> violations = new ArrayList<>(0);
+
+        if (a.duplicateMask() != 0) {
+            violations.add("duplicate cards after transition: " + describe(a.duplicateMask()));
+        }
+        if (resetsInventory) {
+            if (a.cardMask() != ALL_CARDS_MASK) {
+                violations.add("missing cards after game setup: " + describe(ALL_CARDS_MASK & ~a.cardMask()));
+            }
+            return violations;
+        }
+
+        if (a.cardMask() != b.cardMask()) {
+            long lost = b.cardMask() & ~a.cardMask();
+            long gained = a.cardMask() & ~b.cardMask();
+            if (lost != 0) violations.add("cards lost: " + describe(lost));
+            if (gained != 0) violations.add("cards appeared: " + describe(gained));
+        }
+        if (a.totalCandy() != b.totalCandy()) {
+            violations.add("candy not conserved: " + b.totalCandy() + " before, " + a.totalCandy() + " after");
+        }
+        return violations;
+    }
+
+    /**
+     * Formats a card bitset as a list of card numbers.
+     */
+    public static String describe(long mask) {
+        StringBuilder sb = new StringBuilder("[");
+        long rest = mask;
+        while (rest != 0) {
+            int bit = Long.numberOfTrailingZeros(rest);
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(bit + 1);
+            rest &= rest - 1;
+        }
+        return sb.append(']').toString();
+    }
+
+    private static final class Accumulator {
+        long seen;
+        long duplicates;
+        int candyOnCards;
+
+        void addAll(Iterable<Card> cards) {
+            for (Card c : cards) {
+                long bit = 1L << (c.number() - 1);
+                duplicates |= seen & bit;
+                seen |= bit;
+                candyOnCards += c.abilitiesTriggered();
+            }
+        }
+    }
+}
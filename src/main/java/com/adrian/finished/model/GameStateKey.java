@@ -0,0 +1,88 @@
+package com.adrian.finished.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Value-based identity of a GameState, for deduplication and lookup tables.
+ *
+ * GameState itself cannot be used as a key: DrawStack and PastArea wrap an ArrayDeque, whose equals is
+ * identity-based, so two states with the same cards compare unequal. This key packs the complete state
+ * (stashes, counters and every card with its ability counters and fromDrawStack flag, area by area) into
+ * an int array with a precomputed hash.
+ */
+public final class GameStateKey {
+
+    private final int[] packed;
+    private final int hash;
+
+    private GameStateKey(int[] packed) {
+        this.packed = packed;
+        this.hash = Arrays.hashCode(packed);
+    }
+
+    /**
+     * Packs the given state.
+     */
+    public static GameStateKey of(GameState state) {
+        Objects.requireNonNull(state, "state");
+        // 6 scalars, then a size slot per area (draw, present, past, future count, finished)
+        int size = 11
+                + state.drawStack().cards().size()
+                + state.present().cards().size()
+                + state.past().cards().size()
+                + state.finishedPile().cards().size();
+        for (FutureArea area : state.futureAreas()) {
+            size += 1 + area.cards().size();
+        }
+
+        int[] packed = new int[size];
+        int i = 0;
+        packed[i++] = state.activeStash().candy();
+        packed[i++] = state.activeStash().coffee();
+        packed[i++] = state.reservedStash().candy();
+        packed[i++] = state.reservedStash().coffee();
+        packed[i++] = state.activeAllCardsInFutureAreas();
+        packed[i++] = state.gameEnd() ? 1 : 0;
+        i = pack(packed, i, state.drawStack().cards());
+        i = pack(packed, i, state.present().cards());
+        i = pack(packed, i, state.past().cards());
+        packed[i++] = state.futureAreas().size();
+        for (FutureArea area : state.futureAreas()) {
+            i = pack(packed, i, area.cards());
+        }
+        pack(packed, i, state.finishedPile().cards());
+        return new GameStateKey(packed);
+    }
+
+    /**
+     * Packs a card into one int: number (6 bits), abilitiesTriggered (8), maxAbilities (8), fromDrawStack (1).
+     */
+    static int pack(Card card) {
+        return card.number()
+                | (card.abilitiesTriggered() & 0xFF) << 6
+                | (card.maxAbilities() & 0xFF) << 14
+                | (card.fromDrawStack() ? 1 << 22 : 0);
+    }
+
+    private static int pack(int[] packed, int offset, Collection<Card> cards) {
+        // Sizes are packed in front of each area so that moving a card across an area boundary changes the key
+        packed[offset++] = cards.size();
+        for (Card card : cards) {
+            packed[offset++] = pack(card);
+        }
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof GameStateKey other && hash == other.hash && Arrays.equals(packed, other.packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,93 @@
+package com.adrian.finished.model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Validation shared by the immutable model records.
+ *
+ * The public record constructors always scan their collections for null elements. The engine rebuilds areas
+ * and states from parts that were already validated when they were first created, so {@link GameStateBuilder}
+ * hands its collections over as trusted collections, which skip the scan: re-checking every card collection
+ * on each transition is wasted work. Only the builder, in this package, can create trusted collections.
+ *
+ * Start the JVM with {@code -Dfinished.model.strict=true} to scan trusted collections too (e.g., while
+ * debugging a new executor).
+ */
+public final class ModelValidation {
+
+    /**
+     * System property that enables full validation on the trusted construction path.
+     */
+    public static final String STRICT_PROPERTY = "finished.model.strict";
+
+    private static final boolean STRICT = Boolean.getBoolean(STRICT_PROPERTY);
+
+    private ModelValidation() { }
+
+    /**
+     * Returns whether the trusted construction path is validated too in this JVM.
+     */
+    public static boolean isStrict() {
+        return STRICT;
+    }
+
+    /**
+     * Verifies that the given collection has no null elements, unless it is a trusted collection and strict
+     * mode is off. Uses a plain loop rather than a stream so the check stays cheap.
+     */
+    static void requireNoNullElements(Collection<?> elements, String name) {
+        if (!STRICT && elements instanceof Trusted) {
+            return;
+        }
+        for (Object element : elements) {
+            if (element == null) {
+                throw new IllegalArgumentException(name + " cannot contain nulls");
+            }
+        }
+    }
+
+    /**
+     * Read-only trusted view of a list built by the engine.
+     */
+    static <E> List<E> trustedView(List<E> list) {
+        return new TrustedListView<>(list);
+    }
+
+    /**
+     * Marker for collections built on the engine's trusted construction path.
+     */
+    private interface Trusted { }
+
+    /**
+     * Mutable deque of the trusted construction path; handed over to a record as is once built.
+     */
+    static final class TrustedDeque<E> extends ArrayDeque<E> implements Trusted {
+        private static final long serialVersionUID = 1L;
+
+        TrustedDeque(Collection<? extends E> elements) {
+            super(elements);
+        }
+    }
+
+    private static final class TrustedListView<E> extends AbstractList<E> implements RandomAccess, Trusted {
+        private final List<E> list;
+
+        TrustedListView(List<E> list) {
+            this.list = list;
+        }
+
+        @Override
+        public E get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+}
@@ -12,8 +12,6 @@ import java.util.Objects;
 public record PastArea(Deque<Card> cards) {
     public PastArea {
         Objects.requireNonNull(cards, "cards");
-        if (cards.stream().anyMatch(Objects::isNull)) {
-            throw new IllegalArgumentException("cards cannot contain nulls");
-        }
+        ModelValidation.requireNoNullElements(cards, "cards");
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.adrian.finished.model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 64-bit Zobrist hashing of GameState for duplicate detection in searches.
+ *
+ * The hash is the XOR of one random key per feature:
+ * - each card at its position (area and index within the area; future areas by their index),
+ * - each card's ability usage (abilitiesTriggered, maxAbilities, fromDrawStack),
+ * - the candy and coffee of both stashes, activeAllCardsInFutureAreas and the gameEnd flag.
+ *
+ * Hashing is allocation-free. Because the hash is a XOR of per-component parts and executors reuse the record
+ * instances of areas they don't touch, {@link #update(long, GameState, GameState)} maintains a hash across a
+ * transition by rehashing only the components whose instance changed. {@link Hashed} carries a state with its
+ * hash so the next state can be hashed that way.
+ *
+ * Keys are derived from a fixed seed, so hashes are stable across runs and JVMs.
+ */
+public final class ZobristHash {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final int CARDS = 48;
+    private static final int POSITIONS = 48;
+
+    // Area ids; future area k uses FUTURE_BASE + k
+    private static final int DRAW = 0;
+    private static final int PRESENT = 1;
+    private static final int PAST = 2;
+    private static final int FINISHED = 3;
+    private static final int PRESENT_UNORDERED = 4;
+    private static final int FUTURE_BASE = 5;
+    private static final int TABLE_AREAS = FUTURE_BASE + 8;
+
+    // Ability usage is tabulated for counters up to 7; larger values fall back to computed keys
+    private static final int USAGE_VALUES = 8;
+    private static final int SCALAR_VALUES = 64;
+
+    private static final long[] POSITION_KEYS = keys(1, TABLE_AREAS * POSITIONS * CARDS);
+    private static final long[] USAGE_KEYS = keys(2, CARDS * USAGE_VALUES * USAGE_VALUES * 2);
+    private static final long[] SCALAR_KEYS = keys(3, 5 * SCALAR_VALUES);
+    private static final long GAME_END_KEY = mix(SEED ^ 4L << 56);
+
+    // Scalar ids
+    private static final int ACTIVE_CANDY = 0;
+    private static final int ACTIVE_COFFEE = 1;
+    private static final int RESERVED_CANDY = 2;
+    private static final int RESERVED_COFFEE = 3;
+    private static final int FUTURE_COUNTER = 4;
+
+    private ZobristHash() { }
+
+    /**
+     * Hash of the complete state, position-exact in every area.
+     */
+    public static long hash(GameState state) {
+        return hash(state, area(PRESENT, state.present().cards()));
+    }
+
+    /**
+     * Hash that treats the present area as a set, for searches where present order is irrelevant
+     * (it can be rearranged freely with EXCHANGE_PRESENT_CARD_ORDER).
+     */
+    public static long hashIgnoringPresentOrder(GameState state) {
+        return hash(state, unordered(state.present().cards()));
+    }
+
+    private static long hash(GameState state, long presentHash) {
+        return scalars(state)
+                ^ area(DRAW, state.drawStack().cards())
+                ^ presentHash
+                ^ area(PAST, state.past().cards())
+                ^ futures(state.futureAreas())
+                ^ area(FINISHED, state.finishedPile().cards());
+    }
+
+    /**
+     * Returns the hash of {@code after} given the hash of {@code before}, rehashing only the components
+     * (stashes, areas, future area list) whose instance differs between the two states.
+     */
+    public static long update(long beforeHash, GameState before, GameState after) {
+        if (before == after) {
+            return beforeHash;
+        }
+        long h = beforeHash;
+        if (before.activeStash() != after.activeStash()
+                || before.reservedStash() != after.reservedStash()
+                || before.activeAllCardsInFutureAreas() != after.activeAllCardsInFutureAreas()
+                || before.gameEnd() != after.gameEnd()) {
+            h ^= scalars(before) ^ scalars(after);
+        }
+        if (before.drawStack() != after.drawStack()) {
+            h ^= area(DRAW, before.drawStack().cards()) ^ area(DRAW, after.drawStack().cards());
+        }
+        if (before.present() != after.present()) {
+            h ^= area(PRESENT, before.present().cards()) ^ area(PRESENT, after.present().cards());
+        }
+        if (before.past() != after.past()) {
+            h ^= area(PAST, before.past().cards()) ^ area(PAST, after.past().cards());
+        }
+        if (before.futureAreas() != after.futureAreas()) {
+            h ^= futures(before.futureAreas()) ^ futures(after.futureAreas());
+        }
+        if (before.finishedPile() != after.finishedPile()) {
+            h ^= area(FINISHED, before.finishedPile().cards()) ^ area(FINISHED, after.finishedPile().cards());
+        }
+        return h;
+    }
+
+    /**
+     * A state with its hash. {@link #next(GameState)} hashes another state incrementally from this one with
+     * {@link ZobristHash#update(long, GameState, GameState)}: for a successor (or a sibling sharing areas)
+     * only the replaced components are rehashed, and an unrelated state costs about a full hash. Immutable,
+     * so it can be handed between threads.
+     */
+    public record Hashed(GameState state, long hash) {
+        public Hashed {
+            Objects.requireNonNull(state, "state cannot be null");
+        }
+
+        public static Hashed of(GameState state) {
+            return new Hashed(state, ZobristHash.hash(state));
+        }
+
+        public Hashed next(GameState nextState) {
+            Objects.requireNonNull(nextState, "nextState cannot be null");
+            return nextState == state ? this : new Hashed(nextState, update(hash, state, nextState));
+        }
+    }
+
+    private static long scalars(GameState state) {
+        long h = scalar(ACTIVE_CANDY, state.activeStash().candy())
+                ^ scalar(ACTIVE_COFFEE, state.activeStash().coffee())
+                ^ scalar(RESERVED_CANDY, state.reservedStash().candy())
+                ^ scalar(RESERVED_COFFEE, state.reservedStash().coffee())
+                ^ scalar(FUTURE_COUNTER, state.activeAllCardsInFutureAreas());
+        return state.gameEnd() ? h ^ GAME_END_KEY : h;
+    }
+
+    private static long futures(List<FutureArea> futureAreas) {
+        long h = 0L;
+        for (int i = 0; i < futureAreas.size(); i++) {
+            h ^= area(FUTURE_BASE + i, futureAreas.get(i).cards());
+        }
+        return h;
+    }
+
+    private static long area(int area, Collection<Card> cards) {
+        long h = 0L;
+        int index = 0;
+        for (Card card : cards) {
+            h ^= position(area, index++, card.number()) ^ usage(card);
+        }
+        return h;
+    }
+
+    private static long unordered(Collection<Card> cards) {
+        long h = 0L;
+        for (Card card : cards) {
+            h ^= position(PRESENT_UNORDERED, 0, card.number()) ^ usage(card);
+        }
+        return h;
+    }
+
+    private static long position(int area, int index, int number) {
+        if (area < TABLE_AREAS && index < POSITIONS && number >= 1 && number <= CARDS) {
+            return POSITION_KEYS[(area * POSITIONS + index) * CARDS + number - 1];
+        }
+        return mix(SEED ^ 1L << 56 ^ (long) area << 40 ^ (long) index << 20 ^ number);
+    }
+
+    private static long usage(Card card) {
+        int triggered = card.abilitiesTriggered();
+        int max = card.maxAbilities();
+        int flag = card.fromDrawStack() ? 1 : 0;
+        if (triggered < USAGE_VALUES && max < USAGE_VALUES && card.number() <= CARDS) {
+            return USAGE_KEYS[(((card.number() - 1) * USAGE_VALUES + triggered) * USAGE_VALUES + max) * 2 + flag];
+        }
+        return mix(SEED ^ 2L << 56 ^ (long) card.number() << 40 ^ (long) triggered << 24 ^ (long) max << 8 ^ flag);
+    }
+
+    private static long scalar(int id, int value) {
+        if (value >= 0 && value < SCALAR_VALUES) {
+            return SCALAR_KEYS[id * SCALAR_VALUES + value];
+        }
+        return mix(SEED ^ 3L << 56 ^ (long) id << 32 ^ (value & 0xFFFFFFFFL));
+    }
+
+    private static long[] keys(long table, int size) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = mix(SEED ^ table << 56 ^ (1L << 55) ^ i);
+        }
+        return keys;
+    }
+
+    /**
+     * SplitMix64 finalizer: a bijective mix with full avalanche, used to derive keys from feature ids.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
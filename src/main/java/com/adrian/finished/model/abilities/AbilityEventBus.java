@@ -0,0 +1,353 @@
+package com.adrian.finished.model.abilities;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-producer, multi-consumer ring buffer for AbilityExecutedEvents (Disruptor-style), so recorders,
+ * metrics and UI listeners run off the engine thread without a task per event.
+ *
+ * The producer (the game loop thread, e.g. through {@link AbilityExecutors#withEventBus}) claims sequence
+ * numbers in order and writes each event into a preallocated slot. Every consumer runs on its own daemon
+ * thread with its own sequence: it sees every event in publication order and gets them in batches of
+ * everything published since its last batch (up to {@code maxBatch}). Consumers never block each other.
+ *
+ * When the slowest consumer is a full ring behind, the {@link OverflowPolicy} decides:
+ * - BLOCK: the producer waits until space frees up; lossless, but a stuck consumer stalls the engine.
+ * - DROP_NEWEST: the event is not published and counted as dropped; the engine never waits.
+ * - OVERWRITE_OLDEST: the producer overwrites; a consumer that falls a full ring behind skips ahead to the
+ *   oldest retained event and counts the skipped ones as lost. The engine never waits and other consumers
+ *   lose nothing.
+ *
+ * Idle consumers wait according to the {@link WaitStrategy}. Per-consumer lag, processed and lost counts are
+ * available from {@link #metrics()}. Listener exceptions are swallowed so a listener can't break the bus.
+ */
+public final class AbilityEventBus implements AutoCloseable {
+
+    public enum WaitStrategy {
+        /**
+         * Lowest latency; burns a core per consumer.
+         */
+        BUSY_SPIN,
+        /**
+         * Spins briefly, then yields the CPU between polls.
+         */
+        YIELDING,
+        /**
+         * Spins, yields, then sleeps in short parks; low CPU with sub-millisecond latency.
+         */
+        SLEEPING,
+        /**
+         * Parks until the producer wakes the consumer; lowest CPU, adds a wake-up check per publish.
+         */
+        BLOCKING
+    }
+
+    public enum OverflowPolicy { BLOCK, DROP_NEWEST, OVERWRITE_OLDEST }
+
+    /**
+     * Receives a batch of consecutive events. The list is only valid during the call.
+     */
+    @FunctionalInterface
+    public interface BatchListener {
+        void onBatch(List<AbilityExecutedEvent> events);
+    }
+
+    /**
+     * Snapshot of one consumer's progress.
+     *
+     * @param lag   events published but not yet processed
+     * @param lost  events skipped because the consumer was overrun (OVERWRITE_OLDEST only)
+     */
+    public record ConsumerMetrics(String name, long sequence, long lag, long processed, long lost) { }
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private static final VarHandle EVENTS = MethodHandles.arrayElementVarHandle(AbilityExecutedEvent[].class);
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long UNPUBLISHED = -1L;
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AbilityExecutedEvent[] events;
+    private final long[] sequences; // sequence held by each slot, written after the event
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatch;
+
+    private volatile long cursor = -1L; // last published sequence
+    private volatile long dropped;
+    private volatile Consumer[] consumers = new Consumer[0];
+    private volatile boolean closed;
+    private final AtomicReference<Thread> producer = new AtomicReference<>(); // claimed by the first publish
+
+    public AbilityEventBus() {
+        this(DEFAULT_CAPACITY, WaitStrategy.SLEEPING, OverflowPolicy.OVERWRITE_OLDEST, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param capacity ring size, rounded up to a power of two
+     */
+    public AbilityEventBus(int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy, int maxBatch) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be within [1, 2^30], got: " + capacity);
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive, got: " + maxBatch);
+        }
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy cannot be null");
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new AbilityExecutedEvent[size];
+        this.sequences = new long[size];
+        Arrays.fill(sequences, UNPUBLISHED);
+        this.mask = size - 1;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Starts a consumer thread delivering every event published from now on to the listener.
+     */
+    public void subscribe(String name, AbilityExecutionListener listener) {
+        Objects.requireNonNull(listener, "listener cannot be null");
+        subscribeBatch(name, batch -> {
+            for (AbilityExecutedEvent event : batch) {
+                listener.afterAbility(event);
+            }
+        });
+    }
+
+    /**
+     * Starts a consumer thread delivering batches of the events published from now on to the listener.
+     */
+    public synchronized void subscribeBatch(String name, BatchListener listener) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        Consumer consumer = new Consumer(name, listener, cursor);
+        Consumer[] updated = Arrays.copyOf(consumers, consumers.length + 1);
+        updated[updated.length - 1] = consumer;
+        consumers = updated;
+        consumer.thread.start();
+    }
+
+    /**
+     * Publishes an event. Must always be called from the same thread.
+     *
+     * @return false if the event was dropped (DROP_NEWEST on a full ring, or the bus is closed)
+     * @throws IllegalStateException when called from a second producer thread
+     */
+    public boolean publish(AbilityExecutedEvent event) {
+        Objects.requireNonNull(event, "event cannot be null");
+        checkProducer();
+        if (closed) {
+            return false;
+        }
+        long next = cursor + 1;
+        long wrapPoint = next - events.length;
+        if (overflowPolicy != OverflowPolicy.OVERWRITE_OLDEST && minimumSequence(next - 1) < wrapPoint) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                dropped++; // only the producer thread writes
+                return false;
+            }
+            int tries = 0;
+            while (minimumSequence(next - 1) < wrapPoint) {
+                if (closed) return false;
+                tries = backOff(tries);
+            }
+        }
+        int index = (int) next & mask;
+        // Invalidate the slot first so an overrun consumer never pairs the new event with the old sequence
+        SEQUENCES.setRelease(sequences, index, UNPUBLISHED);
+        EVENTS.setRelease(events, index, event);
+        SEQUENCES.setRelease(sequences, index, next);
+        cursor = next;
+        if (waitStrategy == WaitStrategy.BLOCKING) {
+            for (Consumer consumer : consumers) {
+                if (consumer.parked) LockSupport.unpark(consumer.thread);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sequence of the last published event, -1 before the first.
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    /**
+     * Events rejected by DROP_NEWEST.
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    public List<ConsumerMetrics> metrics() {
+        long published = cursor;
+        List<ConsumerMetrics> metrics = new ArrayList<>();
+        for (Consumer consumer : consumers) {
+            long sequence = consumer.sequence;
+            metrics.add(new ConsumerMetrics(consumer.name, sequence, Math.max(0, published - sequence),
+                    consumer.processed, consumer.lost));
+        }
+        return Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * Stops accepting events, lets consumers deliver what was already published and waits briefly for them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void checkProducer() {
+        Thread current = Thread.currentThread();
+        Thread owner = producer.get();
+        if (owner == current || (owner == null && producer.compareAndSet(null, current))) {
+            return;
+        }
+        owner = producer.get();
+        throw new IllegalStateException("AbilityEventBus is single-producer; published from "
+                + current.getName() + " and " + owner.getName());
+    }
+
+    private long minimumSequence(long upperBound) {
+        long minimum = upperBound;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence);
+        }
+        return minimum;
+    }
+
+    private int backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES * 2) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return tries + 1;
+    }
+
+    private final class Consumer implements Runnable {
+        private final String name;
+        private final BatchListener listener;
+        private final Thread thread;
+        private final List<AbilityExecutedEvent> batch = new ArrayList<>();
+
+        // Written by the consumer thread only
+        private volatile long sequence;
+        private volatile long processed;
+        private volatile long lost;
+        private volatile boolean parked;
+
+        Consumer(String name, BatchListener listener, long start) {
+            this.name = name;
+            this.listener = listener;
+            this.sequence = start;
+            this.thread = new Thread(this, "ability-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                if (cursor > sequence) {
+                    deliver();
+                    idle = 0;
+                } else if (closed) {
+                    return;
+                } else {
+                    idle = await(idle);
+                }
+            }
+        }
+
+        private void deliver() {
+            long available = cursor;
+            long next = sequence + 1;
+            // Overrun: the oldest events we haven't read are already overwritten
+            long oldestRetained = available - events.length + 1;
+            if (next < oldestRetained) {
+                lost += oldestRetained - next;
+                next = oldestRetained;
+            }
+            long upTo = Math.min(available, next + maxBatch - 1);
+            batch.clear();
+            for (long s = next; s <= upTo; s++) {
+                int index = (int) s & mask;
+                long before = (long) SEQUENCES.getAcquire(sequences, index);
+                AbilityExecutedEvent event = (AbilityExecutedEvent) EVENTS.getAcquire(events, index);
+                long after = (long) SEQUENCES.getAcquire(sequences, index);
+                if (before != s || after != s) {
+                    lost += 1; // overwritten while reading; the next round resyncs to the oldest retained event
+                    continue;
+                }
+                batch.add(event);
+            }
+            try {
+                if (!batch.isEmpty()) listener.onBatch(Collections.unmodifiableList(batch));
+            } catch (RuntimeException ignored) {
+                // Listener exceptions are swallowed to not break the bus
+            }
+            processed += batch.size();
+            sequence = upTo;
+        }
+
+        private int await(int idle) {
+            switch (waitStrategy) {
+                case BUSY_SPIN -> Thread.onSpinWait();
+                case YIELDING -> {
+                    if (idle < SPIN_TRIES) Thread.onSpinWait();
+                    else Thread.yield();
+                }
+                case SLEEPING -> {
+                    if (idle < SPIN_TRIES) Thread.onSpinWait();
+                    else if (idle < SPIN_TRIES * 2) Thread.yield();
+                    else LockSupport.parkNanos(PARK_NANOS);
+                }
+                case BLOCKING -> {
+                    parked = true;
+                    // Re-check after announcing, so a publish in between isn't missed; the timeout is a safety net
+                    if (cursor <= sequence && !closed) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                    }
+                    parked = false;
+                }
+            }
+            return idle + 1;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.adrian.finished.model.abilities;
 
 import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.GameStateInvariants;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Utility helpers for working with AbilityExecutor implementations.
@@ -95,6 +98,98 @@ public final class AbilityExecutors {
         };
     }
 
+    /**
+     * Wraps an executor so that every execution is published to an {@link AbilityEventBus}. Unlike
+     * withAsyncListeners this allocates nothing but the event, keeps publication order, and applies the bus's
+     * overflow policy instead of silently dropping on rejection. All executors sharing a bus must be called
+     * from the same thread.
+     *
+     * A failed publication (e.g. from a second thread, which the single-producer bus rejects) never breaks
+     * game flow: the produced state is returned and the failure is written to System.err.
+     */
+    public static AbilityExecutor withEventBus(AbilityExecutor delegate, AbilityEventBus bus) {
+        return withEventBus(delegate, bus, failure ->
+                System.err.println("⚠️ Ability event not published: " + failure.getMessage()));
+    }
+
+    /**
+     * Like {@link #withEventBus(AbilityExecutor, AbilityEventBus)}, reporting failed publications to the
+     * given handler instead of System.err.
+     */
+    public static AbilityExecutor withEventBus(AbilityExecutor delegate, AbilityEventBus bus,
+                                               Consumer<? super RuntimeException> failureHandler) {
+        Objects.requireNonNull(delegate, "delegate cannot be null");
+        Objects.requireNonNull(bus, "bus cannot be null");
+        Objects.requireNonNull(failureHandler, "failureHandler cannot be null");
+        return context -> {
+            GameState before = context.state();
+            GameState after = delegate.apply(context);
+            try {
+                bus.publish(new AbilityExecutedEvent(context.ability(), before, after));
+            } catch (RuntimeException e) {
+                failureHandler.accept(e);
+            }
+            return after;
+        };
+    }
+
+    /**
+     * Wraps an executor so that a random sample of its executions is checked against the engine's
+     * conservation invariants (see {@link GameStateInvariants}): no card is lost, duplicated or invented,
+     * and candy in stashes plus candy on cards stays constant. BEGIN_GAME is only checked for a complete,
+     * duplicate-free deck since it legitimately rebuilds the inventory.
+     *
+     * Violations are reported to the listener with the offending ability and both states; the produced
+     * state is returned unchanged so that a bug never breaks game flow. Use a sample rate of 1.0 in tests
+     * and a small rate in production.
+     *
+     * @param sampleRate fraction of executions to check, in [0.0, 1.0]
+     */
+    public static AbilityExecutor withInvariantChecks(AbilityExecutor delegate, double sampleRate, InvariantViolationListener listener) {
+        Objects.requireNonNull(delegate, "delegate cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be within [0.0, 1.0], got: " + sampleRate);
+        }
+        if (sampleRate == 0.0) {
+            return delegate;
+        }
+        return context -> {
+            GameState before = context.state();
+            GameState after = delegate.apply(context);
+            if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                List<String> violations = GameStateInvariants.checkTransition(
+                        before, after, context.ability() == AbilitySpec.BEGIN_GAME);
+                if (!violations.isEmpty()) {
+                    try {
+                        listener.onViolation(new InvariantViolation(context.ability(), before, after, violations));
+                    } catch (RuntimeException ignored) {
+                        // Listener exceptions are swallowed to not break game flow
+                    }
+                }
+            }
+            return after;
+        };
+    }
+
+    /**
+     * Wraps an executor with a bounded, concurrent cache of its transitions keyed by (state hash, ability),
+     * for search and replay workloads that repeat the same automatic transitions. Abilities that ask the
+     * DecisionProvider (USER_INPUT_REQUIRED) and BEGIN_GAME are always delegated; see {@link MemoizingExecutor}.
+     *
+     * Usage example:
+     * <pre>
+     * MemoizingExecutor cached = AbilityExecutors.memoizing(new ScoreCardExecutor(), 1 &lt;&lt; 14);
+     * GameState next = cached.apply(new AbilityContext(state, AbilitySpec.SCORE_CARD));
+     * System.out.println("hit rate: " + cached.hitRate());
+     * </pre>
+     *
+     * @param maxEntries cache size, rounded up to a power of two
+     */
+    public static MemoizingExecutor memoizing(AbilityExecutor delegate, int maxEntries) {
+        return new MemoizingExecutor(delegate, maxEntries);
+    }
+
     private static void notifySync(Collection<AbilityExecutionListener> listeners, AbilityExecutedEvent event) {
         if (listeners == null) return;
         for (AbilityExecutionListener listener : listeners) {
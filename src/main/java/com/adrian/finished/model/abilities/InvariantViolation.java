@@ -0,0 +1,24 @@
+package com.adrian.finished.model.abilities;
+
+import com.adrian.finished.model.GameState;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable report of an engine invariant broken by a single ability execution.
+ * It contains the offending ability, the game state before and after, and the violated rules.
+ */
+public record InvariantViolation(
+        AbilitySpec ability,
+        GameState before,
+        GameState after,
+        List<String> violations
+) {
+    public InvariantViolation {
+        Objects.requireNonNull(ability, "ability");
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+        violations = List.copyOf(violations);
+    }
+}
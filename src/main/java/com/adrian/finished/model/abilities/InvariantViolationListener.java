@@ -0,0 +1,13 @@
+package com.adrian.finished.model.abilities;
+
+/**
+ * Listener notified when a sampled ability execution breaks an engine invariant
+ * (see {@link AbilityExecutors#withInvariantChecks(AbilityExecutor, double, InvariantViolationListener)}).
+ */
+@FunctionalInterface
+public interface InvariantViolationListener {
+    /**
+     * Called after an ability executor produced a GameState that violates card or candy conservation.
+     */
+    void onViolation(InvariantViolation violation);
+}
@@ -0,0 +1,30 @@
+package com.adrian.finished.model.abilities;
+
+import java.util.Objects;
+
+/**
+ * A single manual action that is legal in a given GameState: the ability, the present-area index of the
+ * card spending candy on it ({@link #NO_PROVIDER} for free abilities) and how many present cards the
+ * player must select afterwards via {@link DecisionProvider#selectPresentCardIndices}.
+ */
+public record LegalAction(AbilitySpec ability, int providerIndex, int selectionCount) {
+
+    /**
+     * Provider index of abilities that don't spend candy on a card (EXCHANGE_PRESENT_CARD_ORDER).
+     */
+    public static final int NO_PROVIDER = -1;
+
+    public LegalAction {
+        Objects.requireNonNull(ability, "ability");
+        if (providerIndex < NO_PROVIDER) {
+            throw new IllegalArgumentException("providerIndex cannot be below " + NO_PROVIDER + ", got: " + providerIndex);
+        }
+        if (selectionCount < 0) {
+            throw new IllegalArgumentException("selectionCount cannot be negative, got: " + selectionCount);
+        }
+    }
+
+    public boolean hasProvider() {
+        return providerIndex != NO_PROVIDER;
+    }
+}
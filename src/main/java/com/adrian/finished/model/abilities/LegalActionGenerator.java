@@ -0,0 +1,33 @@
+package com.adrian.finished.model.abilities;
+
+import com.adrian.finished.model.GameState;
+
+import java.util.Collection;
+
+/**
+ * Computes {@link LegalActions} and caches the result for the last state revision.
+ *
+ * GameState is immutable and every transition produces a new instance, so the cache is keyed by state
+ * identity plus the used-ability mask: repeated queries from the UI, bots or executor pre-checks for the
+ * same revision cost one reference comparison. Safe to share between threads.
+ */
+public final class LegalActionGenerator {
+
+    private record Entry(GameState state, long usedAbilityMask, LegalActions actions) { }
+
+    private volatile Entry last;
+
+    public LegalActions generate(GameState state, Collection<AbilitySpec> usedAbilities) {
+        return generate(state, LegalActions.maskOf(usedAbilities));
+    }
+
+    public LegalActions generate(GameState state, long usedAbilityMask) {
+        Entry entry = last;
+        if (entry != null && entry.state() == state && entry.usedAbilityMask() == usedAbilityMask) {
+            return entry.actions();
+        }
+        LegalActions actions = LegalActions.compute(state, usedAbilityMask);
+        last = new Entry(state, usedAbilityMask, actions);
+        return actions;
+    }
+}
@@ -0,0 +1,169 @@
+package com.adrian.finished.model.abilities;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.GameState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Every legal manual action for one GameState and set of abilities already used this turn.
+ *
+ * The same preconditions the manual executors check before asking for decisions are evaluated once here:
+ * candy in the active stash, a provider card with uses left, enough present cards to select from and,
+ * for EXCHANGE_CARD, a non-empty draw stack. Results are exposed both as a list of {@link LegalAction}s
+ * (one per ability and provider card) and as bitmasks:
+ * - {@link #abilityMask()}: bit {@code ability.ordinal()} for each legal ability,
+ * - {@link #providerCardMask(AbilitySpec)}: bit {@code n - 1} for each card number n that may provide it.
+ *
+ * Instances are immutable. Use {@link LegalActionGenerator} to compute them once per state revision.
+ */
+public final class LegalActions {
+
+    private static final AbilitySpec[] ABILITIES = AbilitySpec.values();
+
+    private static final LegalActions NONE = new LegalActions(List.of(), 0L, new long[ABILITIES.length]);
+
+    private final List<LegalAction> actions;
+    private final long abilityMask;
+    private final long[] providerCardMasks;
+
+    private LegalActions(List<LegalAction> actions, long abilityMask, long[] providerCardMasks) {
+        this.actions = actions;
+        this.abilityMask = abilityMask;
+        this.providerCardMasks = providerCardMasks;
+    }
+
+    /**
+     * Computes the legal manual actions for the given state.
+     *
+     * @param usedAbilities abilities already used this turn; may be null or empty
+     */
+    public static LegalActions compute(GameState state, Collection<AbilitySpec> usedAbilities) {
+        return compute(state, maskOf(usedAbilities));
+    }
+
+    /**
+     * Computes the legal manual actions for the given state.
+     *
+     * @param usedAbilityMask bit {@code ability.ordinal()} set for each ability already used this turn
+     */
+    public static LegalActions compute(GameState state, long usedAbilityMask) {
+        Objects.requireNonNull(state, "state");
+        if (state.gameEnd()) {
+            return NONE;
+        }
+
+        List<Card> present = state.present().cards();
+        boolean hasCandy = state.activeStash().candy() > 0;
+        List<LegalAction> actions = new ArrayList<>();
+        long abilityMask = 0L;
+        long[] providerCardMasks = new long[ABILITIES.length];
+
+        for (AbilitySpec ability : ABILITIES) {
+            long bit = 1L << ability.ordinal();
+            if (ability.phase() != AbilityPhase.USER_INPUT_REQUIRED
+                    || (usedAbilityMask & bit) != 0
+                    || !preconditionsHold(ability, state)) {
+                continue;
+            }
+            int selections = selectionCount(ability);
+
+            if (!ability.requiresCandy()) {
+                actions.add(new LegalAction(ability, LegalAction.NO_PROVIDER, selections));
+                abilityMask |= bit;
+                continue;
+            }
+            if (!hasCandy) {
+                continue;
+            }
+            long providers = 0L;
+            for (int i = 0; i < present.size(); i++) {
+                Card card = present.get(i);
+                if (card.canTriggerAbility() && ability.cards().contains(card.number())) {
+                    actions.add(new LegalAction(ability, i, selections));
+                    providers |= 1L << (card.number() - 1);
+                }
+            }
+            if (providers != 0) {
+                abilityMask |= bit;
+                providerCardMasks[ability.ordinal()] = providers;
+            }
+        }
+        return new LegalActions(List.copyOf(actions), abilityMask, providerCardMasks);
+    }
+
+    /**
+     * Returns the empty result, e.g. while no game is running.
+     */
+    public static LegalActions none() {
+        return NONE;
+    }
+
+    /**
+     * Number of present cards the player selects after choosing the provider.
+     */
+    public static int selectionCount(AbilitySpec ability) {
+        return switch (ability) {
+            case CARDS_INTO_PAST, EXCHANGE_PRESENT_CARD_ORDER -> 2;
+            case EXCHANGE_CARD, CARD_INTO_FUTURE -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Packs a set of abilities into a bitmask (bit {@code ability.ordinal()}).
+     */
+    public static long maskOf(Collection<AbilitySpec> abilities) {
+        long mask = 0L;
+        if (abilities != null) {
+            for (AbilitySpec ability : abilities) {
+                if (ability != null) mask |= 1L << ability.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public List<LegalAction> actions() {
+        return actions;
+    }
+
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    public long abilityMask() {
+        return abilityMask;
+    }
+
+    public boolean isLegal(AbilitySpec ability) {
+        return ability != null && (abilityMask & (1L << ability.ordinal())) != 0;
+    }
+
+    public long providerCardMask(AbilitySpec ability) {
+        return providerCardMasks[ability.ordinal()];
+    }
+
+    /**
+     * Returns whether the given card can be used to activate the ability. Free abilities only need to be legal.
+     */
+    public boolean canActivate(AbilitySpec ability, Card card) {
+        if (!isLegal(ability)) {
+            return false;
+        }
+        if (!ability.requiresCandy()) {
+            return true;
+        }
+        return card != null && (providerCardMasks[ability.ordinal()] & (1L << (card.number() - 1))) != 0;
+    }
+
+    private static boolean preconditionsHold(AbilitySpec ability, GameState state) {
+        return switch (ability) {
+            case CARDS_INTO_PAST, EXCHANGE_PRESENT_CARD_ORDER -> state.present().cards().size() >= 2;
+            case EXCHANGE_CARD -> !state.drawStack().cards().isEmpty();
+            default -> true;
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.adrian.finished.model.abilities;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.ZobristHash;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AbilityExecutor decorator that caches transitions of abilities that take no decisions.
+ * Created by {@link AbilityExecutors#memoizing(AbilityExecutor, int)}.
+ *
+ * The cache is a fixed-size, direct-mapped table indexed by the state's {@link ZobristHash} and the ability.
+ * Each executor hashes its input incrementally from the previous input it saw ({@link ZobristHash.Hashed}):
+ * states reaching the same ability in a search or replay share most of their areas, so only the others are
+ * rehashed. Only that one previous input is retained, for as long as the executor is.
+ * A colliding transition simply replaces the previous one, so memory stays bounded without eviction bookkeeping
+ * and threads never block. A hit is only served after comparing the cached input state with the
+ * requested one, so hash collisions can't return a wrong state. The comparison skips every area both states
+ * share by instance and only compares the others card by card.
+ *
+ * Bypassed (always delegated, never cached):
+ * - USER_INPUT_REQUIRED abilities, whose result depends on the DecisionProvider's answers,
+ * - BEGIN_GAME, which shuffles.
+ *
+ * When the delegate returned its input unchanged, a hit returns the caller's state instance, so callers that
+ * detect "nothing applied" by identity behave the same with and without the cache.
+ */
+public final class MemoizingExecutor implements AbilityExecutor {
+
+    private final AbilityExecutor delegate;
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+    // Last input with its hash; racing threads may overwrite each other, every value is a correct pair
+    private volatile ZobristHash.Hashed lastInput;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    MemoizingExecutor(AbilityExecutor delegate, int maxEntries) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        if (maxEntries <= 0 || maxEntries > 1 << 30) {
+            throw new IllegalArgumentException("maxEntries must be within [1, 2^30], got: " + maxEntries);
+        }
+        int size = maxEntries == 1 ? 1 : Integer.highestOneBit(maxEntries - 1) << 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public GameState apply(AbilityContext context) {
+        AbilitySpec ability = context.ability();
+        if (!isCacheable(ability)) {
+            bypassed.increment();
+            return delegate.apply(context);
+        }
+        GameState state = context.state();
+        ZobristHash.Hashed previous = lastInput;
+        ZobristHash.Hashed input = previous == null ? ZobristHash.Hashed.of(state) : previous.next(state);
+        lastInput = input;
+        long hash = input.hash();
+        int slot = slot(hash, ability);
+        Entry entry = table.get(slot);
+        if (entry != null && entry.hash == hash && entry.ability == ability && sameContent(entry.before, state)) {
+            hits.increment();
+            return entry.before == entry.after ? state : entry.after;
+        }
+        misses.increment();
+        GameState after = delegate.apply(context);
+        table.set(slot, new Entry(hash, ability, state, after));
+        return after;
+    }
+
+    /**
+     * Whether transitions of the ability are cached.
+     */
+    public static boolean isCacheable(AbilitySpec ability) {
+        return ability != null
+                && ability != AbilitySpec.BEGIN_GAME
+                && ability.phase() != AbilityPhase.USER_INPUT_REQUIRED;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Executions of abilities that are never cached.
+     */
+    public long bypassed() {
+        return bypassed.sum();
+    }
+
+    /**
+     * Hits among cacheable executions, or 0 before the first one.
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Drops all cached transitions; counters are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, null);
+        }
+    }
+
+    private int slot(long hash, AbilitySpec ability) {
+        long h = hash ^ (long) ability.ordinal() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static boolean sameContent(GameState a, GameState b) {
+        if (a == b) return true;
+        return a.gameEnd() == b.gameEnd()
+                && a.activeAllCardsInFutureAreas() == b.activeAllCardsInFutureAreas()
+                && a.activeStash().equals(b.activeStash())
+                && a.reservedStash().equals(b.reservedStash())
+                && sameCards(a.drawStack().cards(), b.drawStack().cards())
+                && sameCards(a.present().cards(), b.present().cards())
+                && sameCards(a.past().cards(), b.past().cards())
+                && sameFutures(a, b)
+                && sameCards(a.finishedPile().cards(), b.finishedPile().cards());
+    }
+
+    private static boolean sameFutures(GameState a, GameState b) {
+        if (a.futureAreas() == b.futureAreas()) return true;
+        if (a.futureAreas().size() != b.futureAreas().size()) return false;
+        for (int i = 0; i < a.futureAreas().size(); i++) {
+            if (!sameCards(a.futureAreas().get(i).cards(), b.futureAreas().get(i).cards())) return false;
+        }
+        return true;
+    }
+
+    // Element-wise comparison; works for the ArrayDeque-backed areas whose equals is identity-based
+    private static boolean sameCards(Collection<Card> a, Collection<Card> b) {
+        if (a == b) return true;
+        if (a.size() != b.size()) return false;
+        if (a instanceof List<Card> listA && b instanceof List<Card> listB) {
+            return listA.equals(listB);
+        }
+        Iterator<Card> i = a.iterator();
+        Iterator<Card> j = b.iterator();
+        while (i.hasNext()) {
+            Card x = i.next();
+            Card y = j.next();
+            if (x != y && !x.equals(y)) return false;
+        }
+        return true;
+    }
+
+    private record Entry(long hash, AbilitySpec ability, GameState before, GameState after) { }
+}
@@ -0,0 +1,144 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.GameStateKey;
+import com.adrian.finished.model.abilities.AbilityContext;
+import com.adrian.finished.model.abilities.AbilityExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs an AbilityExecutor under every combination of decisions it can ask for and collects the distinct
+ * resulting GameStates. This turns the existing executors into a move generator without duplicating rules.
+ *
+ * Exploration replays the executor (they are pure) with a growing script of decisions, see
+ * {@link EnumeratingDecisionProvider}. Branches the executor rejects with IllegalStateException (invalid
+ * selections) are dropped. Outcomes are deduplicated by {@link GameStateKey} and returned in a deterministic
+ * order (depth-first, option by option), also when wide branches are explored in parallel. The
+ * {@code exploreMoves} variants also report the decisions leading to each outcome (the first path found).
+ */
+public final class ChoiceExplorer {
+
+    /**
+     * Choice points with at least this many options are forked across the pool.
+     */
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    private ChoiceExplorer() { }
+
+    /**
+     * Explores all decisions for the context's state and ability, fanning out wide branches on the common pool.
+     * The context's own DecisionProvider is ignored.
+     */
+    public static List<GameState> explore(AbilityExecutor executor, AbilityContext context) {
+        return results(exploreMoves(executor, context));
+    }
+
+    /**
+     * Explores all decisions, fanning out wide branches on the given pool.
+     */
+    public static List<GameState> explore(AbilityExecutor executor, AbilityContext context, ForkJoinPool pool) {
+        return results(exploreMoves(executor, context, pool));
+    }
+
+    /**
+     * Explores all decisions on the calling thread, e.g. from a search that already parallelizes at a higher level.
+     */
+    public static List<GameState> exploreSequentially(AbilityExecutor executor, AbilityContext context) {
+        return results(exploreMovesSequentially(executor, context));
+    }
+
+    /**
+     * Same as {@link #explore(AbilityExecutor, AbilityContext)}, reporting the decisions behind each outcome.
+     */
+    public static List<Move> exploreMoves(AbilityExecutor executor, AbilityContext context) {
+        return exploreMoves(executor, context, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #explore(AbilityExecutor, AbilityContext, ForkJoinPool)}, reporting the decisions behind each outcome.
+     */
+    public static List<Move> exploreMoves(AbilityExecutor executor, AbilityContext context, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool cannot be null");
+        return List.copyOf(pool.invoke(new Branch(executor, context, new int[0], true)).values());
+    }
+
+    /**
+     * Same as {@link #exploreSequentially(AbilityExecutor, AbilityContext)}, reporting the decisions behind each outcome.
+     */
+    public static List<Move> exploreMovesSequentially(AbilityExecutor executor, AbilityContext context) {
+        return List.copyOf(new Branch(executor, context, new int[0], false).compute().values());
+    }
+
+    private static List<GameState> results(List<Move> moves) {
+        List<GameState> states = new ArrayList<>(moves.size());
+        for (Move move : moves) {
+            states.add(move.result());
+        }
+        return List.copyOf(states);
+    }
+
+    /**
+     * Explores the subtree below a fixed prefix of decisions.
+     */
+    @SuppressWarnings("serial") // Fork/join task holding executors and contexts; never serialized
+    private static final class Branch extends RecursiveTask<Map<GameStateKey, Move>> {
+        private final AbilityExecutor executor;
+        private final AbilityContext context;
+        private final int[] script;
+        private final boolean parallel;
+
+        Branch(AbilityExecutor executor, AbilityContext context, int[] script, boolean parallel) {
+            this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+            this.context = Objects.requireNonNull(context, "context cannot be null");
+            this.script = script;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected Map<GameStateKey, Move> compute() {
+            Map<GameStateKey, Move> outcomes = new LinkedHashMap<>();
+            EnumeratingDecisionProvider provider = new EnumeratingDecisionProvider(script);
+            int options;
+            try {
+                GameState result = executor.apply(new AbilityContext(context.state(), context.ability(), provider));
+                outcomes.put(GameStateKey.of(result), new Move(
+                        context.ability(), provider.providerIndex(), provider.selectedIndices(), result));
+                return outcomes;
+            } catch (EnumeratingDecisionProvider.ChoicePoint choicePoint) {
+                options = choicePoint.options;
+            } catch (IllegalStateException invalidSelection) {
+                return outcomes; // executor rejected this combination of decisions
+            }
+
+            if (parallel && options >= PARALLEL_THRESHOLD) {
+                List<Branch> children = new ArrayList<>(options);
+                for (int option = 0; option < options; option++) {
+                    children.add(child(option));
+                }
+                invokeAll(children);
+                for (Branch child : children) {
+                    child.join().forEach(outcomes::putIfAbsent);
+                }
+            } else {
+                for (int option = 0; option < options; option++) {
+                    child(option).compute().forEach(outcomes::putIfAbsent);
+                }
+            }
+            return outcomes;
+        }
+
+        private Branch child(int option) {
+            int[] childScript = Arrays.copyOf(script, script.length + 1);
+            childScript[script.length] = option;
+            return new Branch(executor, context, childScript, parallel);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.core.StandardExecutors;
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.DrawStack;
+import com.adrian.finished.model.FinishedPile;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.PastArea;
+import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.Stash;
+import com.adrian.finished.model.abilities.AbilityContext;
+import com.adrian.finished.model.abilities.AbilityExecutor;
+import com.adrian.finished.model.abilities.AbilitySpec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Classifies BEGIN_GAME deals as won, lost or unknown by playing them out with {@link TurnOptimizer}.
+ *
+ * A deal is identified by the seed of the java.util.Random handed to BeginGameExecutor, so
+ * {@code new BeginGameExecutor(new Random(seed))} reproduces it exactly. Each deal gets up to
+ * {@code maxPlayouts} complete games within its time budget. The first playout uses
+ * {@link TurnScorer#standard()}; later ones perturb its weights (seeded by the deal), which makes the
+ * optimizer prefer different lines. Any win proves the deal winnable; the share of lost playouts grades its
+ * difficulty (see {@link DealReport#difficulty()}).
+ *
+ * Deals are independent and run in parallel on a fixed pool, one deal per thread; turn searches inside a deal
+ * stay sequential. Results are handed to the caller's sink, or appended to a {@link DealReportFile}, as deals
+ * complete. The per-deal budget is checked between turns, so a deal can overrun it by one turn budget.
+ */
+public final class DealAnalyzer {
+
+    public static final Duration DEFAULT_DEAL_BUDGET = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_TURN_BUDGET = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_PLAYOUTS = 8;
+
+    /**
+     * Games that haven't ended after this many turns count as incomplete; real games end well before.
+     */
+    private static final int MAX_TURNS = 300;
+
+    private final long dealBudgetNanos;
+    private final Duration turnBudget;
+    private final int maxPlayouts;
+    private final int parallelism;
+
+    public DealAnalyzer() {
+        this(DEFAULT_DEAL_BUDGET, DEFAULT_TURN_BUDGET, DEFAULT_MAX_PLAYOUTS,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public DealAnalyzer(Duration dealBudget, Duration turnBudget, int maxPlayouts, int parallelism) {
+        Objects.requireNonNull(dealBudget, "dealBudget cannot be null");
+        this.turnBudget = Objects.requireNonNull(turnBudget, "turnBudget cannot be null");
+        if (dealBudget.isNegative() || dealBudget.isZero()) {
+            throw new IllegalArgumentException("dealBudget must be positive, got: " + dealBudget);
+        }
+        if (maxPlayouts <= 0) {
+            throw new IllegalArgumentException("maxPlayouts must be positive, got: " + maxPlayouts);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive, got: " + parallelism);
+        }
+        this.dealBudgetNanos = dealBudget.toNanos();
+        this.maxPlayouts = maxPlayouts;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The initial state of the deal with the given seed, as produced by BEGIN_GAME.
+     */
+    public static GameState deal(long seed) {
+        return deal(StandardExecutors.create(new Random(seed)));
+    }
+
+    private static GameState deal(Map<AbilitySpec, AbilityExecutor> executors) {
+        GameState empty = new GameState(new Stash(0, 5), new Stash(10, 0), new DrawStack(new ArrayDeque<>()),
+                new PresentArea(List.of()), new PastArea(new ArrayDeque<>()), List.of(),
+                new FinishedPile(List.of()), 0, false);
+        return apply(executors, AbilitySpec.BEGIN_GAME, empty);
+    }
+
+    /**
+     * Analyses a single deal on the calling thread.
+     */
+    public DealReport analyze(long seed) {
+        long start = System.nanoTime();
+        long deadline = start + dealBudgetNanos;
+        Map<AbilitySpec, AbilityExecutor> executors = StandardExecutors.create(new Random(seed));
+        GameState deal = deal(executors);
+        Random weights = new Random(seed ^ 0x9E3779B97F4A7C15L);
+
+        int playouts = 0;
+        int wins = 0;
+        int bestScored = 0;
+        int winTurns = 0;
+        boolean completedAll = true;
+        for (int i = 0; i < maxPlayouts; i++) {
+            if (System.nanoTime() - deadline > 0) {
+                completedAll = false;
+                break;
+            }
+            TurnScorer scorer = i == 0 ? TurnScorer.standard() : TurnScorer.weighted(
+                    10.0 * perturbation(weights), perturbation(weights), 5.0 * perturbation(weights));
+            Playout playout = play(executors, new TurnOptimizer(executors, scorer, turnBudget), deal, deadline);
+            bestScored = Math.max(bestScored, playout.end.finishedPile().cards().size());
+            if (!playout.complete) {
+                completedAll = false;
+                break;
+            }
+            playouts++;
+            if (isWin(playout.end)) {
+                wins++;
+                winTurns = winTurns == 0 ? playout.turns : Math.min(winTurns, playout.turns);
+            }
+        }
+
+        DealVerdict verdict = wins > 0 ? DealVerdict.WON : completedAll ? DealVerdict.LOST : DealVerdict.UNKNOWN;
+        int elapsedMs = (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - start) / 1_000_000);
+        return new DealReport(seed, verdict, playouts, wins, bestScored, winTurns, elapsedMs);
+    }
+
+    /**
+     * Analyses the deals in parallel. The sink is called on the calling thread, in completion order.
+     */
+    public void analyze(LongStream seeds, Consumer<DealReport> sink) throws InterruptedException {
+        Objects.requireNonNull(seeds, "seeds cannot be null");
+        Objects.requireNonNull(sink, "sink cannot be null");
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, new AnalyzerThreadFactory());
+        try {
+            CompletionService<DealReport> completions = new ExecutorCompletionService<>(pool);
+            PrimitiveIterator.OfLong iterator = seeds.iterator();
+            // Keep a bounded window of submitted deals so huge seed ranges don't queue up in memory
+            int window = parallelism * 2;
+            int inFlight = 0;
+            while (iterator.hasNext() || inFlight > 0) {
+                while (inFlight < window && iterator.hasNext()) {
+                    long seed = iterator.nextLong();
+                    completions.submit(() -> analyze(seed));
+                    inFlight++;
+                }
+                sink.accept(completions.take().get());
+                inFlight--;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Deal analysis failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyses the deals in parallel, appending each report to the file as soon as it completes.
+     *
+     * @return number of deals analysed
+     */
+    public int analyzeToFile(LongStream seeds, Path file) throws IOException, InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        try (DealReportFile.Writer writer = DealReportFile.append(file)) {
+            analyze(seeds, report -> {
+                try {
+                    writer.write(report);
+                    count.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count.get();
+    }
+
+    private Playout play(Map<AbilitySpec, AbilityExecutor> executors, TurnOptimizer optimizer, GameState deal,
+                         long deadline) {
+        GameState s = deal;
+        int turns = 0;
+        while (!s.gameEnd()) {
+            if (turns == MAX_TURNS || System.nanoTime() - deadline > 0) {
+                return new Playout(s, turns, false);
+            }
+            turns++;
+            s = beginTurn(executors, s);
+            if (!s.gameEnd()) {
+                s = optimizer.optimize(s).endState();
+            }
+        }
+        return new Playout(s, turns, true);
+    }
+
+    /**
+     * Automatic start of a turn, as run by the game loop: BEGIN_TURN, TAKE_CANDY, then score as long as
+     * possible and try to win.
+     */
+    private static GameState beginTurn(Map<AbilitySpec, AbilityExecutor> executors, GameState state) {
+        GameState s = apply(executors, AbilitySpec.BEGIN_TURN, state);
+        s = apply(executors, AbilitySpec.TAKE_CANDY, s);
+        while (true) {
+            GameState scored = apply(executors, AbilitySpec.SCORE_CARD, s);
+            if (scored == s) break;
+            s = apply(executors, AbilitySpec.TAKE_CANDY, scored);
+        }
+        return apply(executors, AbilitySpec.GAME_END_WIN, s);
+    }
+
+    private static GameState apply(Map<AbilitySpec, AbilityExecutor> executors, AbilitySpec ability,
+                                   GameState state) {
+        return executors.get(ability).apply(new AbilityContext(state, ability));
+    }
+
+    private static boolean isWin(GameState state) {
+        List<Card> finished = state.finishedPile().cards();
+        return state.gameEnd() && !finished.isEmpty() && finished.getLast().number() == 48;
+    }
+
+    /**
+     * Weight factor in [0.5, 1.5).
+     */
+    private static double perturbation(Random random) {
+        return 0.5 + random.nextDouble();
+    }
+
+    private record Playout(GameState end, int turns, boolean complete) { }
+
+    private static final class AnalyzerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "deal-analyzer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Headless entry point: {@code <firstSeed> <count> <outputFile> [dealBudgetMs]}.
+     * Appends reports for seeds firstSeed .. firstSeed + count - 1 and prints a summary.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: DealAnalyzer <firstSeed> <count> <outputFile> [dealBudgetMs]");
+            System.exit(2);
+        }
+        long firstSeed = Long.parseLong(args[0]);
+        long count = Long.parseLong(args[1]);
+        Path output = Path.of(args[2]);
+        Duration dealBudget = args.length > 3 ? Duration.ofMillis(Long.parseLong(args[3])) : DEFAULT_DEAL_BUDGET;
+
+        DealAnalyzer analyzer = new DealAnalyzer(dealBudget, DEFAULT_TURN_BUDGET, DEFAULT_MAX_PLAYOUTS,
+                Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        Map<DealVerdict, Integer> verdicts = new EnumMap<>(DealVerdict.class);
+        try (DealReportFile.Writer writer = DealReportFile.append(output)) {
+            analyzer.analyze(LongStream.range(firstSeed, firstSeed + count), report -> {
+                try {
+                    writer.write(report);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                verdicts.merge(report.verdict(), 1, Integer::sum);
+            });
+        }
+        System.out.printf("Analysed %d deals in %d ms: %s%n",
+                count, (System.nanoTime() - start) / 1_000_000, verdicts);
+    }
+}
@@ -0,0 +1,38 @@
+package com.adrian.finished.search;
+
+import java.util.Objects;
+
+/**
+ * Outcome of analysing one deal, i.e. one BEGIN_GAME shuffle seed.
+ *
+ * @param seed        seed of the java.util.Random handed to BeginGameExecutor
+ * @param playouts    playouts that ran to the end of the game
+ * @param wins        playouts that won
+ * @param bestScored  most cards in the finished pile at the end of any playout
+ * @param winTurns    turns taken by the shortest winning playout, or 0 if none won
+ * @param elapsedMs   wall time spent on the deal
+ */
+public record DealReport(long seed, DealVerdict verdict, int playouts, int wins, int bestScored, int winTurns,
+                         int elapsedMs) {
+
+    public DealReport {
+        Objects.requireNonNull(verdict, "verdict");
+        if (playouts < 0 || wins < 0 || wins > playouts) {
+            throw new IllegalArgumentException("Invalid playout counts: " + wins + " wins out of " + playouts);
+        }
+        if (bestScored < 0 || bestScored > 48) {
+            throw new IllegalArgumentException("bestScored must be within [0, 48], got: " + bestScored);
+        }
+        if (winTurns < 0 || elapsedMs < 0) {
+            throw new IllegalArgumentException("winTurns and elapsedMs cannot be negative");
+        }
+    }
+
+    /**
+     * Difficulty in [0, 1]: the share of completed playouts that lost (1 when none completed).
+     * Winnable deals can be graded by it; 0 means every playout won.
+     */
+    public double difficulty() {
+        return playouts == 0 ? 1.0 : 1.0 - (double) wins / playouts;
+    }
+}
@@ -0,0 +1,136 @@
+package com.adrian.finished.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact binary file of {@link DealReport}s, appended to while an analysis runs.
+ *
+ * Layout (big-endian): a 4-byte magic header, then fixed-size records of {@link #RECORD_BYTES} bytes:
+ * seed (long), verdict ordinal (byte), bestScored (byte), playouts, wins and winTurns (unsigned short each),
+ * elapsedMs (int). Records are in completion order, not seed order. A record cut short by a crash is ignored
+ * when reading and dropped when appending, so an interrupted analysis can be resumed on the same file.
+ */
+public final class DealReportFile {
+
+    static final int MAGIC = 0x46444C31; // "FDL1"
+    static final int HEADER_BYTES = Integer.BYTES;
+    static final int RECORD_BYTES = 20;
+
+    private static final DealVerdict[] VERDICTS = DealVerdict.values();
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private DealReportFile() { }
+
+    /**
+     * Opens the file for appending, creating it with a header if it doesn't exist or is empty.
+     */
+    public static Writer append(Path file) throws IOException {
+        Objects.requireNonNull(file, "file cannot be null");
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        if (!fresh) {
+            checkHeader(file);
+            long partial = (Files.size(file) - HEADER_BYTES) % RECORD_BYTES;
+            if (partial != 0) {
+                // Drop a record cut short by a crash so appended records stay aligned
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(channel.size() - partial);
+                }
+            }
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        if (fresh) {
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+        return new Writer(out);
+    }
+
+    /**
+     * Reads all complete records in file order.
+     */
+    public static List<DealReport> read(Path file) throws IOException {
+        Objects.requireNonNull(file, "file cannot be null");
+        List<DealReport> reports = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readHeader(in, file);
+            long complete = (Files.size(file) - HEADER_BYTES) / RECORD_BYTES;
+            for (long i = 0; i < complete; i++) {
+                reports.add(readRecord(in));
+            }
+        }
+        return reports;
+    }
+
+    static DealReport readRecord(DataInputStream in) throws IOException {
+        long seed = in.readLong();
+        int verdict = in.readUnsignedByte();
+        int bestScored = in.readUnsignedByte();
+        int playouts = in.readUnsignedShort();
+        int wins = in.readUnsignedShort();
+        int winTurns = in.readUnsignedShort();
+        int elapsedMs = in.readInt();
+        if (verdict >= VERDICTS.length) {
+            throw new IOException("Unknown verdict " + verdict + " for seed " + seed);
+        }
+        return new DealReport(seed, VERDICTS[verdict], playouts, wins, bestScored, winTurns, elapsedMs);
+    }
+
+    private static void checkHeader(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            readHeader(in, file);
+        }
+    }
+
+    private static void readHeader(DataInputStream in, Path file) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a deal report file: " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated deal report header: " + file, e);
+        }
+    }
+
+    /**
+     * Appends records; every record is flushed so readers see results as they complete.
+     * Not thread-safe; {@link DealAnalyzer} writes from a single thread.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void write(DealReport report) throws IOException {
+            Objects.requireNonNull(report, "report cannot be null");
+            out.writeLong(report.seed());
+            out.writeByte(report.verdict().ordinal());
+            out.writeByte(report.bestScored());
+            out.writeShort(Math.min(report.playouts(), MAX_COUNT));
+            out.writeShort(Math.min(report.wins(), MAX_COUNT));
+            out.writeShort(Math.min(report.winTurns(), MAX_COUNT));
+            out.writeInt(report.elapsedMs());
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
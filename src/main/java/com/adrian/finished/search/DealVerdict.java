@@ -0,0 +1,19 @@
+package com.adrian.finished.search;
+
+/**
+ * Classification of a deal by {@link DealAnalyzer}.
+ */
+public enum DealVerdict {
+    /**
+     * A winning line was found; the deal is provably winnable.
+     */
+    WON,
+    /**
+     * Every playout ran to completion and lost. Not a proof: a stronger search might still win the deal.
+     */
+    LOST,
+    /**
+     * The time budget ran out before enough playouts completed, and none of them won.
+     */
+    UNKNOWN
+}
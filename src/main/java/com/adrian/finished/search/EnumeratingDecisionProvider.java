@@ -0,0 +1,134 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.abilities.DecisionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DecisionProvider that replays a fixed script of option numbers and reports the first decision beyond it.
+ *
+ * Every decision is numbered as a choice point with a fixed set of options:
+ * - selectAbilityProviderCard: option k is the k-th present card that provides the ability and has uses left.
+ * - selectPresentCardIndices: option k is the k-th ordered selection of {@code count} distinct indices in
+ *   [0, present.size() + {@link #EXTRA_INDICES}). Ordered, because executors may depend on selection order.
+ *
+ * When the executor asks for a decision the script doesn't cover, {@link ChoicePoint} is thrown carrying the
+ * number of options, which aborts the (pure) executor. {@link ChoiceExplorer} then re-runs it once per option.
+ */
+final class EnumeratingDecisionProvider implements DecisionProvider {
+
+    /**
+     * Indices offered beyond the present size of the state handed to the provider. EXCHANGE_CARD draws a
+     * card before asking and accepts its index; other executors reject it and that branch is dropped.
+     */
+    static final int EXTRA_INDICES = 1;
+
+    private final int[] script;
+    private int position;
+
+    // Concrete answers given so far, reported with the outcome
+    private int providerIndex = Move.NO_PROVIDER;
+    private final List<Integer> selectedIndices = new ArrayList<>(2);
+
+    EnumeratingDecisionProvider(int[] script) {
+        this.script = script;
+    }
+
+    @Override
+    public int selectAbilityProviderCard(GameState state, List<Integer> validCardNumbers) {
+        List<Card> present = state.present().cards();
+        int options = 0;
+        for (Card card : present) {
+            if (isProvider(card, validCardNumbers)) options++;
+        }
+        int choice = next(options);
+        for (int i = 0; i < present.size(); i++) {
+            if (isProvider(present.get(i), validCardNumbers) && choice-- == 0) {
+                providerIndex = i;
+                return i;
+            }
+        }
+        throw new IllegalStateException("Provider option out of range");
+    }
+
+    @Override
+    public List<Integer> selectPresentCardIndices(GameState state, int count) {
+        int n = state.present().cards().size() + EXTRA_INDICES;
+        int choice = next(orderedSelections(n, count));
+
+        // Decode the option number as mixed-radix digits, each picking one of the remaining indices
+        boolean[] taken = new boolean[n];
+        List<Integer> selected = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            int remaining = n - j;
+            int pick = choice % remaining;
+            choice /= remaining;
+            for (int i = 0; i < n; i++) {
+                if (!taken[i] && pick-- == 0) {
+                    taken[i] = true;
+                    selected.add(i);
+                    break;
+                }
+            }
+        }
+        selectedIndices.addAll(selected);
+        return selected;
+    }
+
+    int providerIndex() {
+        return providerIndex;
+    }
+
+    List<Integer> selectedIndices() {
+        return selectedIndices;
+    }
+
+    /**
+     * Number of ordered selections of {@code count} distinct elements out of {@code n}.
+     */
+    static int orderedSelections(int n, int count) {
+        if (count < 0 || count > n) return 0;
+        long total = 1;
+        for (int j = 0; j < count; j++) {
+            total *= n - j;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many selections to enumerate: " + count + " out of " + n);
+            }
+        }
+        return (int) total;
+    }
+
+    private int next(int options) {
+        if (options <= 0) {
+            throw ChoicePoint.DEAD_END;
+        }
+        if (position < script.length) {
+            return script[position++];
+        }
+        throw new ChoicePoint(options);
+    }
+
+    private static boolean isProvider(Card card, List<Integer> validCardNumbers) {
+        return card.canTriggerAbility() && validCardNumbers.contains(card.number());
+    }
+
+    /**
+     * Control-flow signal raised at the first unscripted decision; carries its number of options.
+     * A DEAD_END (no options) means the branch has no legal continuation.
+     */
+    static final class ChoicePoint extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final ChoicePoint DEAD_END = new ChoicePoint(0);
+
+        final int options;
+
+        ChoicePoint(int options) {
+            super(null, null, false, false);
+            this.options = options;
+        }
+    }
+}
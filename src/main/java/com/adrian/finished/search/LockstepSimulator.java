@@ -0,0 +1,629 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.core.StandardExecutors;
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.DrawStack;
+import com.adrian.finished.model.FinishedPile;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.GameStateKey;
+import com.adrian.finished.model.PastArea;
+import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.Stash;
+import com.adrian.finished.model.abilities.AbilityContext;
+import com.adrian.finished.model.abilities.AbilityExecutor;
+import com.adrian.finished.model.abilities.AbilitySpec;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Plays many games at once through the automatic phases only (no manual abilities), for policy tuning and deal
+ * statistics where one object graph per game is too slow.
+ *
+ * Games are stored as parallel primitive arrays indexed by lane: draw stack and past as per-lane ring buffers,
+ * present slots, stash counters, the finished count and status. Cards are bytes: the number plus a
+ * fromDrawStack bit; abilitiesTriggered is always 0 without manual abilities and maxAbilities follows from the
+ * number. The finished pile is always 1..n in order, so it is kept as a count plus a bitmask of flags.
+ *
+ * {@link #playTurn()} applies one phase at a time to every running lane, in game loop order: BEGIN_TURN,
+ * TAKE_CANDY, SCORE_CARD (with TAKE_CANDY after each score), GAME_END_WIN, END_TURN_BEGIN, SEQUENCE_RULE,
+ * DRINK_COFEE, GAME_END_LOSE, END_TURN_END. The rules mirror the reference executors exactly, including
+ * TAKE_CANDY recounting the present after each score; {@link #snapshot(int)} converts a lane back to a
+ * GameState so both engines can be compared state by state (see {@link #crossCheck(int, int)}).
+ *
+ * Stash updates are straight-line, branch-free loops over the lanes that the JIT vectorizes; the card moves are
+ * data-dependent per lane and stay scalar. Not thread-safe: one simulator per thread.
+ */
+public final class LockstepSimulator {
+
+    private static final int RING = 64; // power of two >= 48 cards
+    private static final int RING_MASK = RING - 1;
+    public static final int PRESENT_SLOTS = 8;
+
+    private static final int NUMBER_MASK = 0x3F;
+    private static final int FROM_DRAW = 0x40;
+
+    private static final byte RUNNING = 0;
+    private static final byte WON = 1;
+    private static final byte LOST = 2;
+
+    private static final boolean[] TAKES_CANDY = new boolean[49];
+    private static final int[] MAX_ABILITIES = new int[49];
+
+    static {
+        for (int number : AbilitySpec.TAKE_CANDY.cards()) {
+            TAKES_CANDY[number] = true;
+        }
+        // Same rule as BeginGameExecutor: the limit of the first candy-requiring ability the card provides
+        for (int number = 1; number <= 48; number++) {
+            for (AbilitySpec spec : AbilitySpec.values()) {
+                if (spec.cards().contains(number) && spec.requiresCandy()) {
+                    MAX_ABILITIES[number] = spec.limit();
+                    break;
+                }
+            }
+        }
+    }
+
+    private final int lanes;
+
+    private final byte[] draw;
+    private final int[] drawHead;
+    private final int[] drawSize;
+    private final byte[] past;
+    private final int[] pastHead;
+    private final int[] pastSize;
+    private final byte[] present;
+    private final int[] presentSize;
+
+    private final int[] activeCandy;
+    private final int[] activeCoffee;
+    private final int[] reservedCandy;
+    private final int[] reservedCoffee;
+    private final int[] finished;
+    private final long[] finishedFromDraw;
+    private final int[] turns;
+    private final byte[] status;
+
+    // Per-lane scratch written by one phase and read by the next
+    private final int[] counts;
+
+    public LockstepSimulator(int lanes) {
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("lanes must be positive, got: " + lanes);
+        }
+        this.lanes = lanes;
+        this.draw = new byte[lanes * RING];
+        this.drawHead = new int[lanes];
+        this.drawSize = new int[lanes];
+        this.past = new byte[lanes * RING];
+        this.pastHead = new int[lanes];
+        this.pastSize = new int[lanes];
+        this.present = new byte[lanes * PRESENT_SLOTS];
+        this.presentSize = new int[lanes];
+        this.activeCandy = new int[lanes];
+        this.activeCoffee = new int[lanes];
+        this.reservedCandy = new int[lanes];
+        this.reservedCoffee = new int[lanes];
+        this.finished = new int[lanes];
+        this.finishedFromDraw = new long[lanes];
+        this.turns = new int[lanes];
+        this.status = new byte[lanes];
+        this.counts = new int[lanes];
+    }
+
+    public int lanes() {
+        return lanes;
+    }
+
+    /**
+     * Deals the lane exactly as {@code new BeginGameExecutor(new Random(seed))} would.
+     */
+    public void deal(int lane, long seed) {
+        checkLane(lane);
+        // Collections.shuffle on a random-access list: swap i-1 with nextInt(i), from the end
+        byte[] deck = new byte[47];
+        for (int i = 0; i < 47; i++) {
+            deck[i] = (byte) (i + 1 | FROM_DRAW);
+        }
+        Random random = new Random(seed);
+        for (int i = deck.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            byte t = deck[i - 1];
+            deck[i - 1] = deck[j];
+            deck[j] = t;
+        }
+        reset(lane);
+        for (byte card : deck) {
+            pushDraw(lane, card);
+        }
+        pushDraw(lane, (byte) (48 | FROM_DRAW));
+        activeCandy[lane] = 5;
+        activeCoffee[lane] = 7;
+        reservedCandy[lane] = 5;
+        reservedCoffee[lane] = 0;
+    }
+
+    /**
+     * Loads a state at a turn boundary. States that need manual-ability bookkeeping are rejected: future areas,
+     * triggered abilities, or a finished pile that isn't 1..n in order.
+     */
+    public void load(int lane, GameState state) {
+        checkLane(lane);
+        Objects.requireNonNull(state, "state cannot be null");
+        if (!state.futureAreas().isEmpty() || state.activeAllCardsInFutureAreas() != 0) {
+            throw new IllegalArgumentException("Future areas are not supported by the lockstep simulator");
+        }
+        if (state.present().cards().size() > PRESENT_SLOTS) {
+            throw new IllegalArgumentException("Present holds more than " + PRESENT_SLOTS + " cards");
+        }
+        reset(lane);
+        for (Card card : state.drawStack().cards()) {
+            pushDraw(lane, encode(card));
+        }
+        for (Card card : state.present().cards()) {
+            present[lane * PRESENT_SLOTS + presentSize[lane]++] = encode(card);
+        }
+        for (Card card : state.past().cards()) {
+            past[lane * RING + (pastHead[lane] + pastSize[lane]++ & RING_MASK)] = encode(card);
+        }
+        List<Card> pile = state.finishedPile().cards();
+        for (int i = 0; i < pile.size(); i++) {
+            Card card = pile.get(i);
+            boolean inOrder = card.number() == i + 1 || card.number() == 48 && i == 47;
+            if (!inOrder || card.abilitiesTriggered() != 0) {
+                throw new IllegalArgumentException("Finished pile must hold cards 1..n in order: " + pile);
+            }
+            if (card.fromDrawStack()) {
+                finishedFromDraw[lane] |= 1L << (card.number() - 1);
+            }
+        }
+        finished[lane] = pile.isEmpty() ? 0 : pile.getLast().number();
+        activeCandy[lane] = state.activeStash().candy();
+        activeCoffee[lane] = state.activeStash().coffee();
+        reservedCandy[lane] = state.reservedStash().candy();
+        reservedCoffee[lane] = state.reservedStash().coffee();
+        status[lane] = state.gameEnd() ? (finished[lane] == 48 ? WON : LOST) : RUNNING;
+    }
+
+    /**
+     * Converts the lane back to a GameState, equal (by {@link GameStateKey}) to what the reference executors
+     * produce for the same game.
+     */
+    public GameState snapshot(int lane) {
+        checkLane(lane);
+        Deque<Card> drawCards = new ArrayDeque<>(drawSize[lane]);
+        for (int i = 0; i < drawSize[lane]; i++) {
+            drawCards.addLast(decode(draw[lane * RING + (drawHead[lane] + i & RING_MASK)]));
+        }
+        List<Card> presentCards = new ArrayList<>(presentSize[lane]);
+        for (int i = 0; i < presentSize[lane]; i++) {
+            presentCards.add(decode(present[lane * PRESENT_SLOTS + i]));
+        }
+        Deque<Card> pastCards = new ArrayDeque<>(pastSize[lane]);
+        for (int i = 0; i < pastSize[lane]; i++) {
+            pastCards.addLast(decode(past[lane * RING + (pastHead[lane] + i & RING_MASK)]));
+        }
+        List<Card> pile = new ArrayList<>(finished[lane]);
+        for (int number = 1; number <= finished[lane]; number++) {
+            boolean fromDraw = (finishedFromDraw[lane] >>> (number - 1) & 1L) != 0;
+            pile.add(Card.of(number, 0, MAX_ABILITIES[number], fromDraw));
+        }
+        return new GameState(
+                new Stash(activeCandy[lane], activeCoffee[lane]),
+                new Stash(reservedCandy[lane], reservedCoffee[lane]),
+                new DrawStack(drawCards),
+                new PresentArea(List.copyOf(presentCards)),
+                new PastArea(pastCards),
+                List.of(),
+                new FinishedPile(List.copyOf(pile)),
+                0,
+                status[lane] != RUNNING);
+    }
+
+    public boolean isOver(int lane) {
+        return status[lane] != RUNNING;
+    }
+
+    public boolean isWon(int lane) {
+        return status[lane] == WON;
+    }
+
+    /**
+     * Cards in the lane's finished pile.
+     */
+    public int scored(int lane) {
+        return finished[lane];
+    }
+
+    public int turns(int lane) {
+        return turns[lane];
+    }
+
+    /**
+     * Plays turns until every lane's game is over or has played {@code maxTurns} turns.
+     *
+     * @return number of lanes still running
+     */
+    public int run(int maxTurns) {
+        int running = running();
+        for (int turn = 0; turn < maxTurns && running > 0; turn++) {
+            running = playTurn();
+        }
+        return running;
+    }
+
+    /**
+     * Plays one turn in every running lane.
+     *
+     * @return number of lanes still running
+     */
+    public int playTurn() {
+        beginTurn();
+        takeCandy();
+        scoreCards();
+        gameEndWin();
+        endTurnBegin();
+        sequenceRule();
+        drinkCoffee();
+        gameEndLose();
+        endTurnEnd();
+        return running();
+    }
+
+    private int running() {
+        int running = 0;
+        for (int g = 0; g < lanes; g++) {
+            running += status[g] == RUNNING ? 1 : 0;
+        }
+        return running;
+    }
+
+    // BEGIN_TURN: the present becomes up to 3 cards from the draw stack (never from past)
+    private void beginTurn() {
+        for (int g = 0; g < lanes; g++) {
+            if (status[g] != RUNNING) continue;
+            turns[g]++;
+            int n = Math.min(3, drawSize[g]);
+            for (int i = 0; i < n; i++) {
+                present[g * PRESENT_SLOTS + i] = popDraw(g);
+            }
+            presentSize[g] = n;
+        }
+    }
+
+    // TAKE_CANDY: one candy per take-candy card in present that came from the draw stack, capped by the reserve
+    private void takeCandy() {
+        for (int g = 0; g < lanes; g++) {
+            counts[g] = status[g] == RUNNING ? takeCandyCards(g) : 0;
+        }
+        for (int g = 0; g < lanes; g++) {
+            int delta = Math.min(counts[g], reservedCandy[g]);
+            activeCandy[g] += delta;
+            reservedCandy[g] -= delta;
+        }
+    }
+
+    // SCORE_CARD until the next number is not in present, with TAKE_CANDY after each score
+    private void scoreCards() {
+        for (int g = 0; g < lanes; g++) {
+            if (status[g] != RUNNING) continue;
+            while (scoreCard(g)) {
+                int delta = Math.min(takeCandyCards(g), reservedCandy[g]);
+                activeCandy[g] += delta;
+                reservedCandy[g] -= delta;
+            }
+        }
+    }
+
+    private boolean scoreCard(int g) {
+        int next = finished[g] + 1;
+        if (next > 47) return false;
+        int base = g * PRESENT_SLOTS;
+        int size = presentSize[g];
+        int idx = -1;
+        for (int i = 0; i < size; i++) {
+            if ((present[base + i] & NUMBER_MASK) == next) {
+                idx = i;
+                break;
+            }
+        }
+        if (idx < 0) return false;
+
+        if ((present[base + idx] & FROM_DRAW) != 0) {
+            finishedFromDraw[g] |= 1L << (next - 1);
+        }
+        finished[g] = next;
+        System.arraycopy(present, base + idx + 1, present, base + idx, size - idx - 1);
+        size--;
+        // Replacement: draw stack top, otherwise the oldest past card (no longer from the draw stack)
+        if (drawSize[g] > 0) {
+            present[base + size++] = popDraw(g);
+        } else if (pastSize[g] > 0) {
+            present[base + size++] = (byte) (popPast(g) & ~FROM_DRAW);
+        }
+        presentSize[g] = size;
+        return true;
+    }
+
+    // GAME_END_WIN: score 48 from present once 47 is finished
+    private void gameEndWin() {
+        for (int g = 0; g < lanes; g++) {
+            if (status[g] != RUNNING || finished[g] != 47) continue;
+            int base = g * PRESENT_SLOTS;
+            int size = presentSize[g];
+            for (int i = 0; i < size; i++) {
+                if ((present[base + i] & NUMBER_MASK) == 48) {
+                    if ((present[base + i] & FROM_DRAW) != 0) {
+                        finishedFromDraw[g] |= 1L << 47;
+                    }
+                    System.arraycopy(present, base + i + 1, present, base + i, size - i - 1);
+                    presentSize[g] = size - 1;
+                    finished[g] = 48;
+                    status[g] = WON;
+                    break;
+                }
+            }
+        }
+    }
+
+    // END_TURN_BEGIN: past goes under the draw stack, present becomes the new past
+    private void endTurnBegin() {
+        for (int g = 0; g < lanes; g++) {
+            if (status[g] != RUNNING) continue;
+            while (pastSize[g] > 0) {
+                pushDraw(g, popPast(g));
+            }
+            int base = g * PRESENT_SLOTS;
+            for (int i = 0; i < presentSize[g]; i++) {
+                past[g * RING + (pastHead[g] + pastSize[g]++ & RING_MASK)] = present[base + i];
+            }
+            presentSize[g] = 0;
+            // No abilities are triggered without manual play, so no candy returns to the reserve
+        }
+    }
+
+    // SEQUENCE_RULE: runs of 3+ consecutive numbers in past award (length - 1) candy, capped by the reserve
+    private void sequenceRule() {
+        for (int g = 0; g < lanes; g++) {
+            counts[g] = status[g] == RUNNING ? sequenceAward(g) : 0;
+        }
+        for (int g = 0; g < lanes; g++) {
+            int delta = Math.min(counts[g], reservedCandy[g]);
+            activeCandy[g] += delta;
+            reservedCandy[g] -= delta;
+        }
+    }
+
+    private int sequenceAward(int g) {
+        int size = pastSize[g];
+        if (size == 0) return 0;
+        int base = g * RING;
+        int head = pastHead[g];
+        int total = 0;
+        int run = 1;
+        int prev = past[base + (head & RING_MASK)] & NUMBER_MASK;
+        for (int i = 1; i < size; i++) {
+            int cur = past[base + (head + i & RING_MASK)] & NUMBER_MASK;
+            if (cur == prev + 1) {
+                run++;
+            } else {
+                if (run >= 3) total += run - 1;
+                run = 1;
+            }
+            prev = cur;
+        }
+        if (run >= 3) total += run - 1;
+        return total;
+    }
+
+    // DRINK_COFEE: one coffee per turn while 48 is in past; counts[] keeps the 48-in-past flag for GAME_END_LOSE
+    private void drinkCoffee() {
+        for (int g = 0; g < lanes; g++) {
+            counts[g] = status[g] == RUNNING && pastHas48(g) ? 1 : 0;
+        }
+        for (int g = 0; g < lanes; g++) {
+            activeCoffee[g] -= activeCoffee[g] > 0 ? counts[g] : 0;
+        }
+    }
+
+    // GAME_END_LOSE: 48 in past and no coffee left
+    private void gameEndLose() {
+        for (int g = 0; g < lanes; g++) {
+            if (counts[g] != 0 && activeCoffee[g] <= 0) {
+                status[g] = LOST;
+            }
+        }
+    }
+
+    // END_TURN_END: oldest past cards go under the draw stack until 3 remain
+    private void endTurnEnd() {
+        for (int g = 0; g < lanes; g++) {
+            if (status[g] != RUNNING) continue;
+            while (pastSize[g] > 3) {
+                pushDraw(g, popPast(g));
+            }
+        }
+    }
+
+    private int takeCandyCards(int g) {
+        int base = g * PRESENT_SLOTS;
+        int count = 0;
+        for (int i = 0; i < presentSize[g]; i++) {
+            int card = present[base + i];
+            if ((card & FROM_DRAW) != 0 && TAKES_CANDY[card & NUMBER_MASK]) count++;
+        }
+        return count;
+    }
+
+    private boolean pastHas48(int g) {
+        int base = g * RING;
+        for (int i = 0; i < pastSize[g]; i++) {
+            if ((past[base + (pastHead[g] + i & RING_MASK)] & NUMBER_MASK) == 48) return true;
+        }
+        return false;
+    }
+
+    private void pushDraw(int g, byte card) {
+        draw[g * RING + (drawHead[g] + drawSize[g]++ & RING_MASK)] = card;
+    }
+
+    private byte popDraw(int g) {
+        byte card = draw[g * RING + drawHead[g]];
+        drawHead[g] = drawHead[g] + 1 & RING_MASK;
+        drawSize[g]--;
+        return card;
+    }
+
+    private byte popPast(int g) {
+        byte card = past[g * RING + pastHead[g]];
+        pastHead[g] = pastHead[g] + 1 & RING_MASK;
+        pastSize[g]--;
+        return card;
+    }
+
+    private void reset(int lane) {
+        drawHead[lane] = drawSize[lane] = 0;
+        pastHead[lane] = pastSize[lane] = 0;
+        presentSize[lane] = 0;
+        finished[lane] = 0;
+        finishedFromDraw[lane] = 0L;
+        turns[lane] = 0;
+        status[lane] = RUNNING;
+    }
+
+    private void checkLane(int lane) {
+        if (lane < 0 || lane >= lanes) {
+            throw new IndexOutOfBoundsException("lane " + lane + " out of [0, " + lanes + ")");
+        }
+    }
+
+    private static byte encode(Card card) {
+        if (card.number() < 1 || card.number() > 48 || card.abilitiesTriggered() != 0
+                || card.maxAbilities() != MAX_ABILITIES[card.number()]) {
+            throw new IllegalArgumentException("Card not supported by the lockstep simulator: " + card);
+        }
+        return (byte) (card.number() | (card.fromDrawStack() ? FROM_DRAW : 0));
+    }
+
+    private static Card decode(byte card) {
+        int number = card & NUMBER_MASK;
+        return Card.of(number, 0, MAX_ABILITIES[number], (card & FROM_DRAW) != 0);
+    }
+
+    /**
+     * Result of {@link #crossCheck(int, int)}. Throughputs are in games per second over the same seeds and turns;
+     * the reference figure only times the executors, not the comparison.
+     */
+    public record CrossCheck(int games, int turns, int mismatches, int wins, int unfinished,
+                             double referenceGamesPerSecond, double lockstepGamesPerSecond) {
+        public boolean passed() {
+            return mismatches == 0;
+        }
+
+        public double speedup() {
+            return lockstepGamesPerSecond / referenceGamesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games, %d wins, %d unfinished, %d mismatches%n"
+                            + "reference: %.0f games/s, lockstep: %.0f games/s (%.1fx)",
+                    games, wins, unfinished, mismatches, referenceGamesPerSecond, lockstepGamesPerSecond, speedup());
+        }
+    }
+
+    /**
+     * Plays the seeds 0..games-1 through both engines and compares every lane with the reference executors
+     * (StandardExecutors) after every turn, then times a plain lockstep run of the same seeds. Re-run it after
+     * changing an executor or the simulator: any rule drift between the two shows up as mismatches.
+     */
+    public static CrossCheck crossCheck(int games, int maxTurns) {
+        if (games <= 0 || maxTurns <= 0) {
+            throw new IllegalArgumentException("games and maxTurns must be positive, got: " + games + ", " + maxTurns);
+        }
+        // Reference: the object engine, checked turn by turn against a lockstep run of the same seeds
+        LockstepSimulator check = new LockstepSimulator(games);
+        List<GameState> reference = new ArrayList<>(games);
+        List<Map<AbilitySpec, AbilityExecutor>> executors = new ArrayList<>(games);
+        for (int g = 0; g < games; g++) {
+            check.deal(g, g);
+            executors.add(StandardExecutors.create(new Random(g)));
+            reference.add(DealAnalyzer.deal(g));
+        }
+        int mismatches = 0;
+        long referenceNanos = 0;
+        for (int turn = 0; turn < maxTurns; turn++) {
+            long start = System.nanoTime();
+            for (int g = 0; g < games; g++) {
+                if (!reference.get(g).gameEnd()) {
+                    reference.set(g, referenceTurn(executors.get(g), reference.get(g)));
+                }
+            }
+            referenceNanos += System.nanoTime() - start;
+            check.playTurn();
+            for (int g = 0; g < games; g++) {
+                if (!GameStateKey.of(reference.get(g)).equals(GameStateKey.of(check.snapshot(g)))) {
+                    if (mismatches++ < 5) {
+                        System.err.println("Mismatch in game " + g + " after turn " + (turn + 1));
+                    }
+                }
+            }
+        }
+
+        LockstepSimulator simulator = new LockstepSimulator(games);
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            simulator.deal(g, g);
+        }
+        int running = simulator.run(maxTurns);
+        long lockstepNanos = System.nanoTime() - start;
+        int wins = 0;
+        for (int g = 0; g < games; g++) {
+            wins += simulator.isWon(g) ? 1 : 0;
+        }
+        return new CrossCheck(games, maxTurns, mismatches, wins, running,
+                games * 1e9 / referenceNanos, games * 1e9 / lockstepNanos);
+    }
+
+    /**
+     * Runs {@link #crossCheck(int, int)}: {@code [games] [maxTurns]}. Exits with status 1 on any mismatch.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int maxTurns = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        CrossCheck result = crossCheck(games, maxTurns);
+        System.out.println(result);
+        if (!result.passed()) {
+            System.exit(1);
+        }
+    }
+
+    private static GameState referenceTurn(Map<AbilitySpec, AbilityExecutor> executors, GameState state) {
+        GameState s = apply(executors, AbilitySpec.BEGIN_TURN, state);
+        s = apply(executors, AbilitySpec.TAKE_CANDY, s);
+        while (true) {
+            GameState scored = apply(executors, AbilitySpec.SCORE_CARD, s);
+            if (scored == s) break;
+            s = apply(executors, AbilitySpec.TAKE_CANDY, scored);
+        }
+        s = apply(executors, AbilitySpec.GAME_END_WIN, s);
+        for (AbilitySpec ability : new AbilitySpec[] {
+                AbilitySpec.END_TURN_BEGIN, AbilitySpec.SEQUENCE_RULE, AbilitySpec.DRINK_COFEE,
+                AbilitySpec.GAME_END_LOSE, AbilitySpec.END_TURN_END}) {
+            if (s.gameEnd()) break;
+            s = apply(executors, ability, s);
+        }
+        return s;
+    }
+
+    private static GameState apply(Map<AbilitySpec, AbilityExecutor> executors, AbilitySpec ability,
+                                   GameState state) {
+        return executors.get(ability).apply(new AbilityContext(state, ability));
+    }
+}
@@ -0,0 +1,25 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.abilities.AbilitySpec;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One fully decided ability activation: the ability, the answers given to the DecisionProvider and the
+ * resulting state. The answers can be replayed through any DecisionProvider (e.g. pre-selected UI indices).
+ *
+ * @param providerIndex   present index answered to selectAbilityProviderCard, or {@link #NO_PROVIDER}
+ * @param selectedIndices indices answered to selectPresentCardIndices, in order (empty if not asked)
+ */
+public record Move(AbilitySpec ability, int providerIndex, List<Integer> selectedIndices, GameState result) {
+
+    public static final int NO_PROVIDER = -1;
+
+    public Move {
+        Objects.requireNonNull(ability, "ability");
+        Objects.requireNonNull(result, "result");
+        selectedIndices = List.copyOf(selectedIndices);
+    }
+}
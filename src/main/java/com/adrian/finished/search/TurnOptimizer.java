@@ -0,0 +1,259 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.model.GameStateKey;
+import com.adrian.finished.model.PresentArea;
+import com.adrian.finished.model.abilities.AbilityContext;
+import com.adrian.finished.model.abilities.AbilityExecutor;
+import com.adrian.finished.model.abilities.AbilitySpec;
+import com.adrian.finished.model.abilities.DecisionProvider;
+import com.adrian.finished.model.abilities.LegalActions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Searches the rest of the current turn for the best sequence of manual abilities.
+ *
+ * Starting from a state in the user input phase, every legal candy-spending ability is expanded with every
+ * decision (see {@link ChoiceExplorer}), followed by the automatic TAKE_CANDY / SCORE_CARD / GAME_END_WIN steps
+ * the game loop runs after a manual ability. At every reachable state the option "end the turn now" is scored
+ * with the given {@link TurnScorer} after running END_TURN_BEGIN, SEQUENCE_RULE, DRINK_COFEE, GAME_END_LOSE and
+ * END_TURN_END.
+ *
+ * EXCHANGE_PRESENT_CARD_ORDER is not searched: it is free and only matters for the sequence rule when the turn
+ * ends, where ascending order is optimal. Plans end by sorting the present area with the fewest swaps. For the
+ * same reason states are memoized on a key that ignores present order; a state already expanded through another
+ * path is pruned. The search is anytime: when the latency budget runs out, the best plan so far is returned.
+ */
+public final class TurnOptimizer {
+
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(30);
+
+    private static final Comparator<Card> BY_NUMBER = Comparator.comparingInt(Card::number);
+
+    private final Map<AbilitySpec, AbilityExecutor> executors;
+    private final TurnScorer scorer;
+    private final long budgetNanos;
+
+    public TurnOptimizer(Map<AbilitySpec, AbilityExecutor> executors) {
+        this(executors, TurnScorer.standard(), DEFAULT_BUDGET);
+    }
+
+    public TurnOptimizer(Map<AbilitySpec, AbilityExecutor> executors, TurnScorer scorer, Duration budget) {
+        this.executors = Map.copyOf(Objects.requireNonNull(executors, "executors cannot be null"));
+        this.scorer = Objects.requireNonNull(scorer, "scorer cannot be null");
+        Objects.requireNonNull(budget, "budget cannot be null");
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be positive, got: " + budget);
+        }
+        this.budgetNanos = budget.toNanos();
+    }
+
+    /**
+     * Finds the best plan for the rest of the turn from a state in the user input phase, with no ability used
+     * yet this turn.
+     */
+    public TurnPlan optimize(GameState state) {
+        return optimize(state, 0L);
+    }
+
+    /**
+     * Finds the best plan for the rest of the turn, offering only the abilities the game loop would accept.
+     *
+     * @param usedAbilityMask abilities already used this turn, as the game loop passes them to
+     *                        {@link LegalActions} (see GameLoopManager.usedAbilityMask())
+     */
+    public TurnPlan optimize(GameState state, long usedAbilityMask) {
+        Objects.requireNonNull(state, "state");
+        Search search = new Search(state, System.nanoTime() + budgetNanos);
+        search.visit(state, usedAbilityMask, new ArrayList<>());
+        return new TurnPlan(search.bestPath, search.bestEnd, search.bestScore, search.exhaustive, search.visited.size());
+    }
+
+    private final class Search {
+        private final GameState start;
+        private final long deadline;
+        private final Set<GameStateKey> visited = new HashSet<>();
+
+        private List<Move> bestPath = List.of();
+        private GameState bestEnd;
+        private double bestScore = Double.NEGATIVE_INFINITY;
+        private boolean exhaustive = true;
+
+        Search(GameState start, long deadline) {
+            this.start = start;
+            this.deadline = deadline;
+        }
+
+        void visit(GameState state, long usedAbilityMask, List<Move> path) {
+            if (!visited.add(orderInsensitiveKey(state))) {
+                return; // already expanded through another path
+            }
+
+            // Option 1: sort the present area and end the turn here
+            List<Move> swaps = sortPresent(state);
+            GameState sorted = swaps.isEmpty() ? state : swaps.getLast().result();
+            consider(path, swaps, endTurn(sorted));
+
+            // Option 2: spend candy on another ability first
+            LegalActions legal = LegalActions.compute(state, usedAbilityMask);
+            for (AbilitySpec ability : AbilitySpec.values()) {
+                if (ability == AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER || !legal.isLegal(ability)) {
+                    continue;
+                }
+                if (outOfTime()) {
+                    return;
+                }
+                List<Move> moves = ChoiceExplorer.exploreMovesSequentially(
+                        executor(ability), new AbilityContext(state, ability));
+                for (Move move : moves) {
+                    if (outOfTime()) {
+                        return;
+                    }
+                    if (move.result() == state) {
+                        continue; // executors return the same instance when nothing applies
+                    }
+                    path.add(move);
+                    if (ability == AbilitySpec.BELOW_THE_STACK) {
+                        // The game loop ends the turn right away, skipping END_TURN_BEGIN and the sequence rule
+                        consider(path, List.of(), apply(AbilitySpec.END_TURN_END, move.result()));
+                    } else {
+                        GameState settled = settle(move.result());
+                        if (settled.gameEnd()) {
+                            consider(path, List.of(), settled);
+                        } else {
+                            // Per-card limits travel with the state; the used mask carries over unchanged,
+                            // as the game loop blocks no ability turn-wide
+                            visit(settled, usedAbilityMask, path);
+                        }
+                    }
+                    path.removeLast();
+                }
+            }
+        }
+
+        private boolean outOfTime() {
+            if (System.nanoTime() - deadline > 0) {
+                exhaustive = false;
+            }
+            return !exhaustive;
+        }
+
+        private void consider(List<Move> path, List<Move> tail, GameState end) {
+            double score = scorer.score(start, end);
+            if (score > bestScore) {
+                List<Move> plan = new ArrayList<>(path.size() + tail.size());
+                plan.addAll(path);
+                plan.addAll(tail);
+                bestPath = plan;
+                bestEnd = end;
+                bestScore = score;
+            }
+        }
+    }
+
+    /**
+     * Automatic follow-ups after a manual ability: take candy, score as long as possible, try to win.
+     */
+    private GameState settle(GameState state) {
+        GameState s = apply(AbilitySpec.TAKE_CANDY, state);
+        while (true) {
+            GameState scored = apply(AbilitySpec.SCORE_CARD, s);
+            if (scored == s) break;
+            s = apply(AbilitySpec.TAKE_CANDY, scored);
+        }
+        return apply(AbilitySpec.GAME_END_WIN, s);
+    }
+
+    /**
+     * End-of-turn phases in rule order.
+     */
+    private GameState endTurn(GameState state) {
+        GameState s = state;
+        for (AbilitySpec ability : new AbilitySpec[] {
+                AbilitySpec.END_TURN_BEGIN, AbilitySpec.SEQUENCE_RULE, AbilitySpec.DRINK_COFEE,
+                AbilitySpec.GAME_END_LOSE, AbilitySpec.END_TURN_END}) {
+            s = apply(ability, s);
+            if (s.gameEnd()) break;
+        }
+        return s;
+    }
+
+    /**
+     * Selection sort of the present area by card number, as EXCHANGE_PRESENT_CARD_ORDER moves.
+     */
+    private List<Move> sortPresent(GameState state) {
+        List<Move> swaps = new ArrayList<>();
+        GameState s = state;
+        int size = s.present().cards().size();
+        for (int i = 0; i < size - 1; i++) {
+            List<Card> cards = s.present().cards();
+            int min = i;
+            for (int j = i + 1; j < size; j++) {
+                if (cards.get(j).number() < cards.get(min).number()) min = j;
+            }
+            if (min != i) {
+                List<Integer> selection = List.of(i, min);
+                GameState swapped = executor(AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER).apply(new AbilityContext(
+                        s, AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER, new FixedSelection(selection)));
+                swaps.add(new Move(AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER, Move.NO_PROVIDER, selection, swapped));
+                s = swapped;
+            }
+        }
+        return swaps;
+    }
+
+    private GameState apply(AbilitySpec ability, GameState state) {
+        return executor(ability).apply(new AbilityContext(state, ability));
+    }
+
+    private AbilityExecutor executor(AbilitySpec ability) {
+        AbilityExecutor executor = executors.get(ability);
+        if (executor == null) {
+            throw new IllegalStateException("No executor registered for " + ability);
+        }
+        return executor;
+    }
+
+    private static GameStateKey orderInsensitiveKey(GameState state) {
+        List<Card> present = state.present().cards();
+        List<Card> sorted = new ArrayList<>(present);
+        sorted.sort(BY_NUMBER);
+        if (sorted.equals(present)) {
+            return GameStateKey.of(state);
+        }
+        return GameStateKey.of(new GameState(
+                state.activeStash(),
+                state.reservedStash(),
+                state.drawStack(),
+                new PresentArea(sorted),
+                state.past(),
+                state.futureAreas(),
+                state.finishedPile(),
+                state.activeAllCardsInFutureAreas(),
+                state.gameEnd()));
+    }
+
+    /**
+     * Answers a single card selection with fixed indices.
+     */
+    private record FixedSelection(List<Integer> indices) implements DecisionProvider {
+        @Override
+        public List<Integer> selectPresentCardIndices(GameState state, int count) {
+            return indices;
+        }
+
+        @Override
+        public int selectAbilityProviderCard(GameState state, List<Integer> validCardNumbers) {
+            throw new UnsupportedOperationException("FixedSelection only answers card selections");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.GameState;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Best plan found by {@link TurnOptimizer} for the rest of a turn.
+ *
+ * Steps are applied in order; each step's result is the executor output before the automatic follow-ups
+ * (TAKE_CANDY / SCORE_CARD) the game loop runs after a manual ability. Unless the last step is
+ * BELOW_THE_STACK, the turn is ended after the last step.
+ *
+ * @param endState        state after the turn has ended
+ * @param exhaustive      true if every reachable end-of-turn state was evaluated within the latency budget
+ * @param statesExplored  number of distinct in-turn states expanded
+ */
+public record TurnPlan(List<Move> steps, GameState endState, double score, boolean exhaustive, int statesExplored) {
+    public TurnPlan {
+        steps = List.copyOf(steps);
+        Objects.requireNonNull(endState, "endState");
+    }
+}
@@ -0,0 +1,44 @@
+package com.adrian.finished.search;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.GameState;
+
+import java.util.List;
+
+/**
+ * Scores the outcome of a single turn; higher is better. Used by {@link TurnOptimizer} to rank plans.
+ */
+@FunctionalInterface
+public interface TurnScorer {
+
+    /**
+     * @param start state at the beginning of the user input phase
+     * @param end   state after the turn has been ended (or the game is over)
+     */
+    double score(GameState start, GameState end);
+
+    /**
+     * Default weights: a scored card is worth 10 candy, a coffee drunk costs 5 candy.
+     */
+    static TurnScorer standard() {
+        return weighted(10.0, 1.0, 5.0);
+    }
+
+    /**
+     * Linear score over cards scored, active candy gained (negative when spent) and coffee drunk.
+     * A won game outranks and a lost game underranks every other outcome.
+     */
+    static TurnScorer weighted(double perCardScored, double perCandy, double perCoffee) {
+        return (start, end) -> {
+            if (end.gameEnd()) {
+                List<Card> finished = end.finishedPile().cards();
+                boolean won = !finished.isEmpty() && finished.getLast().number() == 48;
+                return won ? 1.0e9 : -1.0e9;
+            }
+            int scored = end.finishedPile().cards().size() - start.finishedPile().cards().size();
+            int candy = end.activeStash().candy() - start.activeStash().candy();
+            int coffee = start.activeStash().coffee() - end.activeStash().coffee();
+            return perCardScored * scored + perCandy * candy - perCoffee * coffee;
+        };
+    }
+}
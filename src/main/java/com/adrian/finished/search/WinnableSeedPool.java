@@ -0,0 +1,294 @@
+package com.adrian.finished.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Pool of BEGIN_GAME seeds verified winnable by {@link DealAnalyzer}, for a "winnable deals only" game start.
+ *
+ * The pool file is a sorted, duplicate-free array of seeds behind a small header recording the difficulty band
+ * it was built for (see {@link #write}). Opening maps the file read-only, so startup cost doesn't depend on the
+ * pool size, and {@link #next()} is O(1): seeds are handed out once each, in a pseudo-random order given by an
+ * affine permutation of the indices. {@link #contains(long)} binary-searches the mapped array.
+ *
+ * When fewer than the low watermark of seeds remain, an optional background refiller analyses fresh random
+ * seeds on a low-priority thread and queues the ones within the band; {@link #next()} hands those out after the
+ * mapped seeds. Refilled reports can be appended to a {@link DealReportFile} so the next {@link #write} keeps
+ * them. Verification never runs on the thread that starts a game.
+ */
+public final class WinnableSeedPool {
+
+    static final int MAGIC = 0x46535031; // "FSP1"
+    static final int HEADER_BYTES = 24;
+
+    private final LongBuffer seeds;
+    private final int size;
+    private final double minDifficulty;
+    private final double maxDifficulty;
+
+    // Affine permutation of [0, size): index(k) = (offset + k * stride) mod size, gcd(stride, size) == 1
+    private final long offset;
+    private final long stride;
+    private final AtomicLong drawn = new AtomicLong();
+
+    private final ConcurrentLinkedQueue<Long> refilled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger refilledCount = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile Refill refill;
+
+    private WinnableSeedPool(LongBuffer seeds, double minDifficulty, double maxDifficulty) {
+        this.seeds = seeds;
+        this.size = seeds.limit();
+        this.minDifficulty = minDifficulty;
+        this.maxDifficulty = maxDifficulty;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        this.offset = size == 0 ? 0 : random.nextLong(size);
+        this.stride = size == 0 ? 1 : coprimeStride(size, random);
+    }
+
+    /**
+     * Maps a pool file. A missing file yields an empty pool for the full difficulty range, which only serves
+     * refilled seeds.
+     */
+    public static WinnableSeedPool open(Path file) throws IOException {
+        Objects.requireNonNull(file, "file cannot be null");
+        if (!Files.exists(file)) {
+            return new WinnableSeedPool(LongBuffer.allocate(0), 0.0, 1.0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a seed pool file: " + file);
+            }
+            double min = mapped.getFloat(4);
+            double max = mapped.getFloat(8);
+            long count = mapped.getLong(16);
+            if (count < 0 || count > (mapped.limit() - HEADER_BYTES) / Long.BYTES) {
+                throw new IOException("Truncated seed pool file: " + file);
+            }
+            LongBuffer seeds = mapped.position(HEADER_BYTES).slice().asLongBuffer().limit((int) count);
+            return new WinnableSeedPool(seeds, min, max);
+        }
+    }
+
+    /**
+     * Builds a pool file from analysed deals: the WON deals with a difficulty within [min, max], sorted by seed.
+     * The file is replaced atomically, so a running game keeps its mapping of the old one.
+     */
+    public static int write(Path file, Collection<DealReport> reports, double minDifficulty, double maxDifficulty)
+            throws IOException {
+        Objects.requireNonNull(file, "file cannot be null");
+        Objects.requireNonNull(reports, "reports cannot be null");
+        checkBand(minDifficulty, maxDifficulty);
+        long[] accepted = reports.stream()
+                .filter(report -> accepts(report, minDifficulty, maxDifficulty))
+                .mapToLong(DealReport::seed)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeFloat((float) minDifficulty);
+            out.writeFloat((float) maxDifficulty);
+            out.writeInt(0); // padding, keeps the seeds 8-byte aligned
+            out.writeLong(accepted.length);
+            for (long seed : accepted) {
+                out.writeLong(seed);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return accepted.length;
+    }
+
+    /**
+     * Starts refilling in the background whenever fewer than {@code lowWatermark} seeds remain.
+     *
+     * @param analyzer     analyser used for refills; give it fewer threads than cores to leave room for the UI
+     * @param batchSize    number of fresh seeds analysed per refill
+     * @param reportsFile  file every refill report is appended to, or null
+     */
+    public void enableRefill(DealAnalyzer analyzer, int lowWatermark, int batchSize, Path reportsFile) {
+        Objects.requireNonNull(analyzer, "analyzer cannot be null");
+        if (lowWatermark < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid refill sizes: lowWatermark=" + lowWatermark
+                    + ", batchSize=" + batchSize);
+        }
+        this.refill = new Refill(analyzer, lowWatermark, batchSize, reportsFile);
+        refillIfLow();
+    }
+
+    /**
+     * Takes the next unused winnable seed, or empty when the pool is exhausted. Never blocks.
+     */
+    public OptionalLong next() {
+        try {
+            long k = drawn.getAndUpdate(n -> n < size ? n + 1 : n);
+            if (k < size) {
+                return OptionalLong.of(seeds.get((int) Math.floorMod(offset + k * stride, (long) size)));
+            }
+            Long seed = refilled.poll();
+            if (seed == null) {
+                return OptionalLong.empty();
+            }
+            refilledCount.decrementAndGet();
+            return OptionalLong.of(seed);
+        } finally {
+            refillIfLow();
+        }
+    }
+
+    /**
+     * Whether the seed is in the mapped pool (refilled seeds are not included).
+     */
+    public boolean contains(long seed) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = seeds.get(mid);
+            if (value < seed) {
+                low = mid + 1;
+            } else if (value > seed) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of seeds not handed out yet, including refilled ones.
+     */
+    public int remaining() {
+        return (int) (size - Math.min(drawn.get(), size)) + refilledCount.get();
+    }
+
+    public double minDifficulty() {
+        return minDifficulty;
+    }
+
+    public double maxDifficulty() {
+        return maxDifficulty;
+    }
+
+    private void refillIfLow() {
+        Refill current = refill;
+        if (current == null || remaining() >= current.lowWatermark || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                current.run();
+            } finally {
+                refilling.set(false);
+            }
+        }, "seed-pool-refill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static boolean accepts(DealReport report, double minDifficulty, double maxDifficulty) {
+        return report.verdict() == DealVerdict.WON
+                && report.difficulty() >= minDifficulty
+                && report.difficulty() <= maxDifficulty;
+    }
+
+    private static void checkBand(double minDifficulty, double maxDifficulty) {
+        if (!(minDifficulty >= 0.0 && minDifficulty <= maxDifficulty && maxDifficulty <= 1.0)) {
+            throw new IllegalArgumentException("Difficulty band must satisfy 0 <= min <= max <= 1, got: ["
+                    + minDifficulty + ", " + maxDifficulty + "]");
+        }
+    }
+
+    private static long coprimeStride(long n, ThreadLocalRandom random) {
+        if (n == 1) return 1;
+        while (true) {
+            long candidate = 1 + random.nextLong(n - 1);
+            if (gcd(candidate, n) == 1) return candidate;
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private final class Refill {
+        private final DealAnalyzer analyzer;
+        private final int lowWatermark;
+        private final int batchSize;
+        private final Path reportsFile;
+
+        Refill(DealAnalyzer analyzer, int lowWatermark, int batchSize, Path reportsFile) {
+            this.analyzer = analyzer;
+            this.lowWatermark = lowWatermark;
+            this.batchSize = batchSize;
+            this.reportsFile = reportsFile;
+        }
+
+        void run() {
+            LongStream candidates = ThreadLocalRandom.current().longs(batchSize);
+            try (DealReportFile.Writer writer = reportsFile == null ? null : DealReportFile.append(reportsFile)) {
+                analyzer.analyze(candidates, report -> {
+                    if (accepts(report, minDifficulty, maxDifficulty)) {
+                        refilled.add(report.seed());
+                        refilledCount.incrementAndGet();
+                    }
+                    if (writer != null) {
+                        try {
+                            writer.write(report);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("⚠️ Seed pool refill could not write reports: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Builds a pool file from a deal report file: {@code <reportsFile> <poolFile> [minDifficulty maxDifficulty]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("Usage: WinnableSeedPool <reportsFile> <poolFile> [minDifficulty maxDifficulty]");
+            System.exit(2);
+        }
+        double min = args.length == 4 ? Double.parseDouble(args[2]) : 0.0;
+        double max = args.length == 4 ? Double.parseDouble(args[3]) : 1.0;
+        int written = write(Path.of(args[1]), DealReportFile.read(Path.of(args[0])), min, max);
+        System.out.printf("Wrote %d winnable seeds with difficulty in [%.2f, %.2f] to %s%n",
+                written, min, max, args[1]);
+    }
+}
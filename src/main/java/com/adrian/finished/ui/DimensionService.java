@@ -2,18 +2,34 @@ package com.adrian.finished.ui;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleBinding;
-import javafx.beans.binding.NumberBinding;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+
+import java.util.function.ToDoubleFunction;
 
 /**
  * Central, observable service for computing responsive dimensions based on scene size.
  * All UI components should use this service for sizing to ensure no hardcoded values.
  * Updates automatically when scene dimensions change.
+ *
+ * All dimensions are derived from one {@link DimensionSnapshot} and change together when a new snapshot is
+ * published, so listeners never see a new width with an old height, and each size change invalidates every
+ * binding exactly once. A service created by a {@link ResizeCoordinator} publishes only once a resize has
+ * settled; one created with the public constructor publishes on every scene size change.
+ *
+ * A service created with {@link #fixed(double, double)} never changes: the board is laid out once at that
+ * logical resolution and scaled as a whole (see ScaledRootPane). The render scale then tells image-based
+ * components how much larger than their logical size they are drawn.
  */
 public class DimensionService {
 
-    private final ReadOnlyDoubleProperty sceneWidth;
-    private final ReadOnlyDoubleProperty sceneHeight;
+    private final ReadOnlyObjectWrapper<DimensionSnapshot> snapshot = new ReadOnlyObjectWrapper<>(this, "snapshot");
+    private final ReadOnlyDoubleWrapper sceneWidth = new ReadOnlyDoubleWrapper(this, "sceneWidth");
+    private final ReadOnlyDoubleWrapper sceneHeight = new ReadOnlyDoubleWrapper(this, "sceneHeight");
 
     // Area heights (percentages of scene height)
     private final DoubleBinding futureAreaHeight;
@@ -46,51 +62,93 @@ public class DimensionService {
     private final DoubleBinding finishedPileBottom;
     private final DoubleBinding finishedPileRight;
 
+    // Scale applied to the laid out board by transforms, 1.0 when sizes follow the scene
+    private final DoubleProperty renderScale = new SimpleDoubleProperty(this, "renderScale", 1.0);
+
+    /**
+     * Follows the scene size, publishing a new snapshot on every change.
+     */
     public DimensionService(ReadOnlyDoubleProperty sceneWidth, ReadOnlyDoubleProperty sceneHeight) {
-        this.sceneWidth = sceneWidth;
-        this.sceneHeight = sceneHeight;
+        this(sceneWidth.get(), sceneHeight.get());
+        sceneWidth.addListener(obs -> publish(sceneWidth.get(), sceneHeight.get()));
+        sceneHeight.addListener(obs -> publish(sceneWidth.get(), sceneHeight.get()));
+    }
 
-        // Area heights (30%, 40%, 24%, 6% of scene height)
-        this.futureAreaHeight = sceneHeight.multiply(0.30);
-        this.presentAreaHeight = sceneHeight.multiply(0.40);
-        this.pastAreaHeight = sceneHeight.multiply(0.24);
-        this.stashBarHeight = sceneHeight.multiply(0.06);
+    /**
+     * Starts at the given size and changes only through {@link #publish(double, double)}.
+     */
+    DimensionService(double initialWidth, double initialHeight) {
+        publish(initialWidth, initialHeight);
 
-        // Card dimensions - base height is proportional to present area, width maintains aspect ratio
-        this.cardHeight = presentAreaHeight.multiply(0.8); // Leave some padding in present area
-        this.cardWidth = cardHeight.multiply(0.7); // Standard card aspect ratio
+        // The scene size is read from the snapshot like every other dimension
+        this.sceneWidth.bind(derive(DimensionSnapshot::sceneWidth));
+        this.sceneHeight.bind(derive(DimensionSnapshot::sceneHeight));
 
-        // Small card dimensions (60% of normal cards)
-        this.smallCardHeight = cardHeight.multiply(0.6);
-        this.smallCardWidth = cardWidth.multiply(0.6);
+        // Area heights (30%, 40%, 24%, 6% of scene height)
+        this.futureAreaHeight = derive(DimensionSnapshot::futureAreaHeight);
+        this.presentAreaHeight = derive(DimensionSnapshot::presentAreaHeight);
+        this.pastAreaHeight = derive(DimensionSnapshot::pastAreaHeight);
+        this.stashBarHeight = derive(DimensionSnapshot::stashBarHeight);
+
+        // Card dimensions
+        this.cardHeight = derive(DimensionSnapshot::cardHeight);
+        this.cardWidth = derive(DimensionSnapshot::cardWidth);
+        this.smallCardHeight = derive(DimensionSnapshot::smallCardHeight);
+        this.smallCardWidth = derive(DimensionSnapshot::smallCardWidth);
 
         // Token sizes
-        this.candyTokenSize = stashBarHeight.multiply(0.7);
-        this.coffeeIconSize = stashBarHeight.multiply(0.6);
-
-        // Typography - based on minimum dimension
-        NumberBinding minDimension = Bindings.min(sceneWidth, sceneHeight);
-        this.baseFontSize = Bindings.createDoubleBinding(
-            () -> minDimension.doubleValue() * 0.02,
-            minDimension
-        );
-        this.smallFontSize = baseFontSize.multiply(0.8);
-
-        // Spacing - relative to scene size
-        this.gapSmall = sceneWidth.multiply(0.005);
-        this.gapMedium = sceneWidth.multiply(0.01);
-        this.gapLarge = sceneWidth.multiply(0.02);
-
-        // Overlay dimensions (10% width, 20% height)
-        this.finishedPileWidth = sceneWidth.multiply(0.10);
-        this.finishedPileHeight = sceneHeight.multiply(0.20);
-        this.finishedPileBottom = stashBarHeight.add(gapMedium);
-        this.finishedPileRight = gapMedium; // Distance from right edge
+        this.candyTokenSize = derive(DimensionSnapshot::candyTokenSize);
+        this.coffeeIconSize = derive(DimensionSnapshot::coffeeIconSize);
+
+        // Typography
+        this.baseFontSize = derive(DimensionSnapshot::baseFontSize);
+        this.smallFontSize = derive(DimensionSnapshot::smallFontSize);
+
+        // Spacing
+        this.gapSmall = derive(DimensionSnapshot::gapSmall);
+        this.gapMedium = derive(DimensionSnapshot::gapMedium);
+        this.gapLarge = derive(DimensionSnapshot::gapLarge);
+
+        // Overlay dimensions and positions
+        this.finishedPileWidth = derive(DimensionSnapshot::finishedPileWidth);
+        this.finishedPileHeight = derive(DimensionSnapshot::finishedPileHeight);
+        this.finishedPileBottom = derive(DimensionSnapshot::finishedPileBottom);
+        this.finishedPileRight = derive(DimensionSnapshot::finishedPileRight);
+    }
+
+    private DoubleBinding derive(ToDoubleFunction<DimensionSnapshot> dimension) {
+        return Bindings.createDoubleBinding(() -> dimension.applyAsDouble(snapshot.get()), snapshot);
+    }
+
+    /**
+     * Replaces all dimensions at once with those derived from the scene size. Only the snapshot is set; every
+     * dimension, the scene size included, is a lazy binding on it, so a listener notified of any one of them
+     * already reads the new values of all the others.
+     */
+    void publish(double width, double height) {
+        DimensionSnapshot current = snapshot.get();
+        if (current != null && current.sceneWidth() == width && current.sceneHeight() == height) {
+            return;
+        }
+        snapshot.set(DimensionSnapshot.of(width, height));
+    }
+
+    /**
+     * Creates a service for a fixed logical resolution, whose dimensions never change.
+     */
+    public static DimensionService fixed(double logicalWidth, double logicalHeight) {
+        if (!(logicalWidth > 0) || !(logicalHeight > 0)) {
+            throw new IllegalArgumentException("Logical size must be positive, got: " + logicalWidth + "x" + logicalHeight);
+        }
+        return new DimensionService(logicalWidth, logicalHeight);
     }
 
     // Getters for properties
-    public ReadOnlyDoubleProperty sceneWidthProperty() { return sceneWidth; }
-    public ReadOnlyDoubleProperty sceneHeightProperty() { return sceneHeight; }
+    public ReadOnlyObjectProperty<DimensionSnapshot> snapshotProperty() { return snapshot.getReadOnlyProperty(); }
+    public DimensionSnapshot getSnapshot() { return snapshot.get(); }
+
+    public ReadOnlyDoubleProperty sceneWidthProperty() { return sceneWidth.getReadOnlyProperty(); }
+    public ReadOnlyDoubleProperty sceneHeightProperty() { return sceneHeight.getReadOnlyProperty(); }
 
     public DoubleBinding futureAreaHeightProperty() { return futureAreaHeight; }
     public DoubleBinding presentAreaHeightProperty() { return presentAreaHeight; }
@@ -119,4 +177,8 @@ public class DimensionService {
     public DoubleBinding finishedPileHeightProperty() { return finishedPileHeight; }
     public DoubleBinding finishedPileBottomProperty() { return finishedPileBottom; }
     public DoubleBinding finishedPileRightProperty() { return finishedPileRight; }
+
+    public DoubleProperty renderScaleProperty() { return renderScale; }
+    public double getRenderScale() { return renderScale.get(); }
+    public void setRenderScale(double scale) { renderScale.set(scale); }
 }
@@ -0,0 +1,72 @@
+package com.adrian.finished.ui;
+
+/**
+ * All dimensions derived from one scene size, computed together so that they are always consistent.
+ * The proportions are those documented on {@link DimensionService}.
+ */
+public record DimensionSnapshot(
+        double sceneWidth,
+        double sceneHeight,
+        double futureAreaHeight,
+        double presentAreaHeight,
+        double pastAreaHeight,
+        double stashBarHeight,
+        double cardHeight,
+        double cardWidth,
+        double smallCardHeight,
+        double smallCardWidth,
+        double candyTokenSize,
+        double coffeeIconSize,
+        double baseFontSize,
+        double smallFontSize,
+        double gapSmall,
+        double gapMedium,
+        double gapLarge,
+        double finishedPileWidth,
+        double finishedPileHeight,
+        double finishedPileBottom,
+        double finishedPileRight
+) {
+
+    public static DimensionSnapshot of(double sceneWidth, double sceneHeight) {
+        // Area heights (30%, 40%, 24%, 6% of scene height)
+        double futureAreaHeight = sceneHeight * 0.30;
+        double presentAreaHeight = sceneHeight * 0.40;
+        double pastAreaHeight = sceneHeight * 0.24;
+        double stashBarHeight = sceneHeight * 0.06;
+
+        // Card dimensions - base height is proportional to present area, width maintains aspect ratio
+        double cardHeight = presentAreaHeight * 0.8; // Leave some padding in present area
+        double cardWidth = cardHeight * 0.7; // Standard card aspect ratio
+
+        // Typography - based on minimum dimension
+        double baseFontSize = Math.min(sceneWidth, sceneHeight) * 0.02;
+
+        // Spacing - relative to scene size
+        double gapMedium = sceneWidth * 0.01;
+
+        return new DimensionSnapshot(
+            sceneWidth,
+            sceneHeight,
+            futureAreaHeight,
+            presentAreaHeight,
+            pastAreaHeight,
+            stashBarHeight,
+            cardHeight,
+            cardWidth,
+            cardHeight * 0.6, // Small cards are 60% of normal cards
+            cardWidth * 0.6,
+            stashBarHeight * 0.7,
+            stashBarHeight * 0.6,
+            baseFontSize,
+            baseFontSize * 0.8,
+            sceneWidth * 0.005,
+            gapMedium,
+            sceneWidth * 0.02,
+            sceneWidth * 0.10, // Overlay dimensions (10% width, 20% height)
+            sceneHeight * 0.20,
+            stashBarHeight + gapMedium,
+            gapMedium // Distance from right edge
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package com.adrian.finished.ui;
+
+/**
+ * Detects whether the UI is served to browsers by JPro or runs as a desktop JavaFX application.
+ * The result is computed once per JVM; -Dforce.jpro.mode=true|false overrides the detection.
+ */
+public final class JProEnvironment {
+    private JProEnvironment() { }
+
+    // Shared static to avoid repeated detection
+    private static Boolean isJProMode = null;
+
+    /**
+     * Detect if we're running in JPro mode with manual override capability
+     */
+    public static synchronized boolean isJProMode() {
+        if (isJProMode == null) {
+            try {
+                // Check for manual override first
+                String forceJPro = System.getProperty("force.jpro.mode");
+                if ("true".equals(forceJPro)) {
+                    isJProMode = true;
+                    System.out.println("🔍 JPro mode FORCED via system property");
+                    return isJProMode;
+                }
+                if ("false".equals(forceJPro)) {
+                    isJProMode = false;
+                    System.out.println("🔍 Desktop mode FORCED via system property");
+                    return isJProMode;
+                }
+
+                // Try WebAPI.isBrowser() - this is the most reliable method
+                try {
+                    Class<?> webAPIClass = Class.forName("com.jpro.webapi.WebAPI");
+                    java.lang.reflect.Method isBrowserMethod = webAPIClass.getMethod("isBrowser");
+                    Object result = isBrowserMethod.invoke(null);
+                    isJProMode = Boolean.TRUE.equals(result);
+                    System.out.println("🔍 Environment detected via WebAPI.isBrowser(): " + (isJProMode ? "JPro" : "Desktop"));
+                } catch (ClassNotFoundException e) {
+                    // WebAPI not in classpath - definitely not JPro
+                    isJProMode = false;
+                    System.out.println("🔍 Desktop mode detected (WebAPI not in classpath)");
+                } catch (Exception e) {
+                    // WebAPI available but method call failed - probably desktop
+                    isJProMode = false;
+                    System.out.println("🔍 Desktop mode detected (WebAPI call failed: " + e.getMessage() + ")");
+                }
+
+            } catch (Exception e) {
+                System.out.println("⚠️ Error detecting JPro mode, defaulting to desktop: " + e.getMessage());
+                isJProMode = false;
+            }
+        }
+        return isJProMode;
+    }
+}
@@ -0,0 +1,104 @@
+package com.adrian.finished.ui;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.util.Duration;
+
+import java.util.Objects;
+
+/**
+ * Debounces scene size changes for a {@link DimensionService}.
+ *
+ * A drag-resize fires dozens of size events. Instead of relaying out the whole board for each of them, the
+ * coordinator waits until no size event arrived for the settle delay and then publishes one snapshot of
+ * all dimensions, which costs exactly one full layout pass. While the resize is in progress the previously
+ * published layout is shown stretched by a transform (see DebouncedRootPane), which costs no layout at all.
+ *
+ * {@link #metrics()} counts the size events received and the layout passes they caused.
+ */
+public class ResizeCoordinator {
+
+    public static final Duration DEFAULT_SETTLE_DELAY = Duration.millis(150);
+
+    /**
+     * @param sizeEvents   scene width/height changes received
+     * @param layoutPasses snapshots published, each one full layout pass of the board
+     */
+    public record ResizeMetrics(long sizeEvents, long layoutPasses) {
+        /**
+         * Size events coalesced into each layout pass.
+         */
+        public double eventsPerLayoutPass() {
+            return layoutPasses == 0 ? 0.0 : (double) sizeEvents / layoutPasses;
+        }
+    }
+
+    private final ReadOnlyDoubleProperty sceneWidth;
+    private final ReadOnlyDoubleProperty sceneHeight;
+    private final DimensionService dimensionService;
+    private final PauseTransition settle;
+    private final ReadOnlyBooleanWrapper resizing = new ReadOnlyBooleanWrapper(this, "resizing", false);
+
+    private long sizeEvents;
+    private long layoutPasses;
+
+    public ResizeCoordinator(ReadOnlyDoubleProperty sceneWidth, ReadOnlyDoubleProperty sceneHeight) {
+        this(sceneWidth, sceneHeight, DEFAULT_SETTLE_DELAY);
+    }
+
+    public ResizeCoordinator(ReadOnlyDoubleProperty sceneWidth, ReadOnlyDoubleProperty sceneHeight, Duration settleDelay) {
+        this.sceneWidth = Objects.requireNonNull(sceneWidth, "sceneWidth cannot be null");
+        this.sceneHeight = Objects.requireNonNull(sceneHeight, "sceneHeight cannot be null");
+        Objects.requireNonNull(settleDelay, "settleDelay cannot be null");
+        if (settleDelay.lessThanOrEqualTo(Duration.ZERO)) {
+            throw new IllegalArgumentException("settleDelay must be positive, got: " + settleDelay);
+        }
+        this.dimensionService = new DimensionService(sceneWidth.get(), sceneHeight.get());
+        this.settle = new PauseTransition(settleDelay);
+        settle.setOnFinished(e -> publish());
+
+        sceneWidth.addListener(obs -> onSizeChanged());
+        sceneHeight.addListener(obs -> onSizeChanged());
+    }
+
+    private void onSizeChanged() {
+        sizeEvents++;
+        resizing.set(true);
+        settle.playFromStart();
+    }
+
+    /**
+     * Publishes the current scene size immediately, e.g. before taking a snapshot of the board.
+     */
+    public void flush() {
+        settle.stop();
+        publish();
+    }
+
+    private void publish() {
+        resizing.set(false);
+        DimensionSnapshot before = dimensionService.getSnapshot();
+        dimensionService.publish(sceneWidth.get(), sceneHeight.get());
+        if (dimensionService.getSnapshot() != before) {
+            layoutPasses++;
+            System.out.printf("📐 Resize settled at %.0fx%.0f (%d size events, %d layout passes)%n",
+                    sceneWidth.get(), sceneHeight.get(), sizeEvents, layoutPasses);
+        }
+    }
+
+    public DimensionService getDimensionService() {
+        return dimensionService;
+    }
+
+    /**
+     * True from the first size event of a resize until its snapshot is published.
+     */
+    public ReadOnlyBooleanProperty resizingProperty() { return resizing.getReadOnlyProperty(); }
+    public boolean isResizing() { return resizing.get(); }
+
+    public ResizeMetrics metrics() {
+        return new ResizeMetrics(sizeEvents, layoutPasses);
+    }
+}
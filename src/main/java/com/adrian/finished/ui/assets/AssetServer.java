@@ -0,0 +1,181 @@
+package com.adrian.finished.ui.assets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal HTTP server for the content-hashed asset URLs handed out by {@link AssetUrls} under JPro when a
+ * public base URL is configured.
+ *
+ * Responses are marked immutable and cacheable for a year, with the content hash as ETag, so a browser
+ * fetches each asset at most once and revalidations are answered with 304 without reading the resource.
+ * Only resources that were given a hashed URL are served; everything else is a 404.
+ *
+ * Configuration:
+ * - -Dfinished.assets.port (default 8081): port to listen on,
+ * - -Dfinished.assets.baseUrl (required, no default): how remote browsers reach the server, e.g. the public
+ *   URL of a reverse proxy in front of it. Without it no HTTP URLs are handed out.
+ *
+ * The counters make the saving measurable: with warm browser caches, requests and bytes served stay flat
+ * as sessions are added, whereas streamed images cost their full size on every session.
+ */
+public final class AssetServer {
+
+    public static final int DEFAULT_PORT = 8081;
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final int THREADS = 2;
+
+    /**
+     * Counters since start. The first request for each asset usually comes from the server's own image decode.
+     */
+    public record Stats(int assets, long requests, long notModified, long notFound, long bytesServed) {
+        @Override
+        public String toString() {
+            return String.format("🌐 Asset server: %d assets, %d requests, %d not modified, %d not found, %d KB served",
+                    assets, requests, notModified, notFound, bytesServed / 1024);
+        }
+    }
+
+    private static AssetServer shared;
+    private static boolean unavailable;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    private AssetServer(int port, String baseUrl) throws IOException {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "asset-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handle(exchange);
+            }
+        });
+    }
+
+    /**
+     * The public base URL from -Dfinished.assets.baseUrl, or null if none is configured.
+     */
+    public static String configuredBaseUrl() {
+        String baseUrl = System.getProperty("finished.assets.baseUrl");
+        return baseUrl == null || baseUrl.isBlank() ? null : baseUrl.strip();
+    }
+
+    /**
+     * The JVM-wide server, started on first use; null if no base URL is configured or it can't be started
+     * (e.g. the port is in use). A failed start is reported once and not retried.
+     */
+    public static synchronized AssetServer shared() {
+        if (shared == null && !unavailable) {
+            int port = Integer.getInteger("finished.assets.port", DEFAULT_PORT);
+            String baseUrl = configuredBaseUrl();
+            if (baseUrl == null) {
+                unavailable = true;
+                return null;
+            }
+            try {
+                shared = new AssetServer(port, baseUrl);
+            } catch (IOException e) {
+                unavailable = true;
+                System.err.println("⚠️ Asset server unavailable on port " + port
+                        + ", loading assets from the classpath: " + e.getMessage());
+                return null;
+            }
+            shared.start();
+            System.out.println("🌐 Serving content-hashed assets at " + shared.baseUrl);
+        }
+        return shared;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public Stats stats() {
+        return new Stats(AssetUrls.assetCount(), requests.sum(), notModified.sum(), notFound.sum(), bytesServed.sum());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void start() {
+        // HttpServer's dispatcher thread inherits the daemon flag of the starting thread; start it from a
+        // daemon thread so the server never keeps the JVM alive
+        Thread starter = new Thread(server::start, "asset-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        String method = exchange.getRequestMethod();
+        boolean head = "HEAD".equalsIgnoreCase(method);
+        if (!head && !"GET".equalsIgnoreCase(method)) {
+            exchange.sendResponseHeaders(405, -1);
+            return;
+        }
+        AssetUrls.Asset asset = AssetUrls.lookup(exchange.getRequestURI().getPath());
+        if (asset == null) {
+            notFound.increment();
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+
+        String etag = "\"" + asset.hash() + "\"";
+        exchange.getResponseHeaders().set("Cache-Control", CACHE_CONTROL);
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.increment();
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        byte[] content;
+        try (InputStream in = AssetServer.class.getResourceAsStream(asset.resourcePath())) {
+            if (in == null) {
+                notFound.increment();
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            content = in.readAllBytes();
+        }
+        exchange.getResponseHeaders().set("Content-Type", asset.contentType());
+        if (head) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+        bytesServed.add(content.length);
+    }
+}
@@ -0,0 +1,132 @@
+package com.adrian.finished.ui.assets;
+
+import com.adrian.finished.ui.JProEnvironment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * URLs images are loaded from.
+ *
+ * On the desktop this is the classpath URL, as before. Under JPro every image loaded from the classpath has
+ * to be streamed to each browser through the JPro connection, once per session. When the deployment sets
+ * -Dfinished.assets.baseUrl to an address browsers can reach (typically a reverse proxy in front of the
+ * {@link AssetServer}), assets are instead referenced by a content-hashed URL under it, e.g.
+ * https://play.example.com/assets/cards/12_card.3fa2c19b0d4e.png. Since the name changes whenever the content
+ * does, browsers and reverse proxies may cache these URLs forever and later sessions load nothing at all.
+ *
+ * Without a configured base URL there is no address that works for remote browsers (localhost would point at
+ * the player's own machine), so assets are loaded from the classpath and streamed by JPro as on the desktop.
+ * The same happens with -Dfinished.assets.http=false or when the server can't be started. Note that the
+ * server JVM decodes each image from its URL too, so with serving enabled it fetches them once through the
+ * base URL.
+ */
+public final class AssetUrls {
+    private AssetUrls() { }
+
+    private static final int HASH_CHARS = 12;
+
+    private static final boolean SERVING = JProEnvironment.isJProMode()
+            && AssetServer.configuredBaseUrl() != null
+            && !"false".equalsIgnoreCase(System.getProperty("finished.assets.http"));
+
+    // resource path -> hashed path, and back for the server
+    private static final Map<String, String> HASHED_PATHS = new ConcurrentHashMap<>();
+    private static final Map<String, Asset> ASSETS = new ConcurrentHashMap<>();
+
+    /**
+     * An asset the server may send: only resources that were given a hashed URL are ever served.
+     */
+    record Asset(String resourcePath, String hash, String contentType) { }
+
+    /**
+     * Whether images are loaded through content-hashed HTTP URLs (JPro with a public base URL) rather than the
+     * classpath (desktop, JPro without a base URL, or when the asset server could not be started).
+     */
+    public static boolean isServing() {
+        return SERVING && AssetServer.shared() != null;
+    }
+
+    /**
+     * The URL to load the resource from, or null if the resource doesn't exist.
+     *
+     * @param resourcePath absolute classpath path, e.g. /assets/cards/12_card.png
+     */
+    public static String url(String resourcePath) {
+        Objects.requireNonNull(resourcePath, "resourcePath cannot be null");
+        AssetServer server = SERVING ? AssetServer.shared() : null;
+        if (server == null) {
+            URL url = AssetUrls.class.getResource(resourcePath);
+            return url == null ? null : url.toExternalForm();
+        }
+        String hashedPath = hashedPath(resourcePath);
+        return hashedPath == null ? null : server.baseUrl() + hashedPath;
+    }
+
+    /**
+     * The resource path with a hash of its content before the extension, or null if it doesn't exist.
+     * Hashes are computed once per JVM.
+     */
+    public static String hashedPath(String resourcePath) {
+        Objects.requireNonNull(resourcePath, "resourcePath cannot be null");
+        String hashed = HASHED_PATHS.get(resourcePath);
+        if (hashed != null) {
+            return hashed;
+        }
+        String hash = contentHash(resourcePath);
+        if (hash == null) {
+            return null;
+        }
+        int dot = resourcePath.lastIndexOf('.');
+        boolean hasExtension = dot > resourcePath.lastIndexOf('/');
+        hashed = hasExtension
+                ? resourcePath.substring(0, dot) + "." + hash + resourcePath.substring(dot)
+                : resourcePath + "." + hash;
+        ASSETS.putIfAbsent(hashed, new Asset(resourcePath, hash, contentType(resourcePath)));
+        HASHED_PATHS.putIfAbsent(resourcePath, hashed);
+        return hashed;
+    }
+
+    static Asset lookup(String hashedPath) {
+        return ASSETS.get(hashedPath);
+    }
+
+    static int assetCount() {
+        return ASSETS.size();
+    }
+
+    private static String contentHash(String resourcePath) {
+        try (InputStream in = AssetUrls.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                return null;
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (DigestInputStream digesting = new DigestInputStream(in, digest)) {
+                digesting.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, HASH_CHARS);
+        } catch (IOException e) {
+            System.err.println("Failed to hash asset " + resourcePath + ": " + e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String contentType(String resourcePath) {
+        String lower = resourcePath.toLowerCase();
+        if (lower.endsWith(".png")) return "image/png";
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
+        if (lower.endsWith(".css")) return "text/css";
+        return "application/octet-stream";
+    }
+}
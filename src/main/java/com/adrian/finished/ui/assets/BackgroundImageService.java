@@ -0,0 +1,230 @@
+package com.adrian.finished.ui.assets;
+
+import com.adrian.finished.ui.DimensionService;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+import javafx.util.Duration;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decodes the table backgrounds under /assets/backgroud at the size they are shown, never at native resolution.
+ *
+ * Only the selected background is decoded, on JavaFX's background loading thread, at the width needed to cover
+ * the scene (times the screen's output scale, capped at the native width). The displayed image is replaced only
+ * once the new decode has finished, so the FX thread never waits on PNG decoding. After a resize settles the
+ * background is decoded again if the needed width moved by more than {@link #REDECODE_RATIO}. Once the selected
+ * background is shown, the next one is prefetched; at most {@link #MAX_DECODED} images are kept decoded.
+ *
+ * All methods must be called on the FX application thread.
+ */
+public class BackgroundImageService {
+
+    public static final int BACKGROUND_COUNT = 49;
+    public static final int MAX_DECODED = 2;
+    public static final double REDECODE_RATIO = 1.25;
+
+    private static final String BASE_PATH = "/assets/backgroud/";
+    private static final Duration SETTLE_DELAY = Duration.millis(300);
+    // Used until the PNG header of a background has been read
+    private static final int DEFAULT_NATIVE_WIDTH = 1800;
+    private static final int DEFAULT_NATIVE_HEIGHT = 900;
+
+    private final DimensionService dimensionService;
+    private final ReadOnlyObjectWrapper<Image> image = new ReadOnlyObjectWrapper<>(this, "image");
+    private final PauseTransition settle = new PauseTransition(SETTLE_DELAY);
+    private final int[][] nativeSizes = new int[BACKGROUND_COUNT][];
+
+    // Access-ordered, so the eldest entry is never the one on screen
+    private final Map<Integer, Image> decoded = new LinkedHashMap<>(4, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+            if (size() > MAX_DECODED) {
+                cancelIfLoading(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private int selected = -1;
+
+    public BackgroundImageService(DimensionService dimensionService) {
+        this.dimensionService = Objects.requireNonNull(dimensionService, "dimensionService cannot be null");
+
+        settle.setOnFinished(e -> redecodeIfNeeded());
+        dimensionService.sceneWidthProperty().addListener((obs, oldVal, newVal) -> onResize());
+        dimensionService.sceneHeightProperty().addListener((obs, oldVal, newVal) -> onResize());
+        dimensionService.renderScaleProperty().addListener((obs, oldVal, newVal) -> onResize());
+    }
+
+    /**
+     * Selects the background to show. The current image stays visible until the new one is decoded.
+     */
+    public void select(int index) {
+        if (index < 0 || index >= BACKGROUND_COUNT) {
+            throw new IllegalArgumentException("Background index must be within [0, " + BACKGROUND_COUNT + "), got: " + index);
+        }
+        selected = index;
+        Image cached = decoded.get(index);
+        if (cached == null || cached.isError() || needsRedecode(cached, targetWidth(index))) {
+            decode(index);
+        } else {
+            showWhenLoaded(index, cached);
+        }
+    }
+
+    /**
+     * Selects the background after the current one, wrapping around.
+     */
+    public void next() {
+        select(selected < 0 ? 0 : (selected + 1) % BACKGROUND_COUNT);
+    }
+
+    /**
+     * Drops every decoded background and clears the displayed image.
+     */
+    public void clear() {
+        settle.stop();
+        for (Image pending : decoded.values()) {
+            cancelIfLoading(pending);
+        }
+        decoded.clear();
+        selected = -1;
+        image.set(null);
+    }
+
+    public ReadOnlyObjectProperty<Image> imageProperty() { return image.getReadOnlyProperty(); }
+    public Image getImage() { return image.get(); }
+    public int getSelected() { return selected; }
+
+    /**
+     * Number of backgrounds currently held decoded (or decoding).
+     */
+    public int decodedCount() {
+        return decoded.size();
+    }
+
+    private void onResize() {
+        if (selected >= 0) {
+            settle.playFromStart();
+        }
+    }
+
+    private void redecodeIfNeeded() {
+        if (selected < 0) return;
+        Image current = decoded.get(selected);
+        if (current == null || needsRedecode(current, targetWidth(selected))) {
+            decode(selected);
+        }
+    }
+
+    private void decode(int index) {
+        String url = AssetUrls.url(BASE_PATH + index + ".png");
+        if (url == null) {
+            System.err.println("Background image not found: " + BASE_PATH + index + ".png");
+            return;
+        }
+        int width = targetWidth(index);
+        Image loading = new Image(url, width, 0, true, true, true);
+        Image replaced = decoded.put(index, loading);
+        if (replaced != null) {
+            cancelIfLoading(replaced);
+        }
+        showWhenLoaded(index, loading);
+    }
+
+    private void showWhenLoaded(int index, Image candidate) {
+        if (candidate.getProgress() >= 1.0) {
+            onLoaded(index, candidate);
+            return;
+        }
+        candidate.progressProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.doubleValue() >= 1.0) {
+                onLoaded(index, candidate);
+            }
+        });
+    }
+
+    private void onLoaded(int index, Image loaded) {
+        if (loaded.isError()) {
+            System.err.println("Failed to decode background " + index + ": " + loaded.getException());
+            decoded.remove(index, loaded);
+            return;
+        }
+        // Ignore decodes that were superseded by another selection or a newer size
+        if (index != selected || decoded.get(index) != loaded) {
+            return;
+        }
+        image.set(loaded);
+        prefetch((index + 1) % BACKGROUND_COUNT);
+    }
+
+    private void prefetch(int index) {
+        if (index == selected || decoded.containsKey(index)) return;
+        String url = AssetUrls.url(BASE_PATH + index + ".png");
+        if (url == null) return;
+        decoded.put(index, new Image(url, targetWidth(index), 0, true, true, true));
+    }
+
+    private static boolean needsRedecode(Image current, int targetWidth) {
+        double decodedWidth = current.getRequestedWidth();
+        return targetWidth > decodedWidth * REDECODE_RATIO || targetWidth * REDECODE_RATIO < decodedWidth;
+    }
+
+    /**
+     * Width in pixels at which the background covers the scene, capped at the native width.
+     */
+    private int targetWidth(int index) {
+        int[] nativeSize = nativeSize(index);
+        double outputScale = Screen.getPrimary().getOutputScaleX() * dimensionService.getRenderScale();
+        double sceneWidth = dimensionService.sceneWidthProperty().get() * outputScale;
+        double sceneHeight = dimensionService.sceneHeightProperty().get() * outputScale;
+        double aspect = (double) nativeSize[0] / nativeSize[1];
+        double cover = Math.max(sceneWidth, sceneHeight * aspect);
+        return (int) Math.max(1, Math.min(nativeSize[0], Math.ceil(cover)));
+    }
+
+    /**
+     * Native size read from the PNG header (IHDR), without decoding any pixels.
+     */
+    private int[] nativeSize(int index) {
+        int[] size = nativeSizes[index];
+        if (size == null) {
+            size = readPngSize(BASE_PATH + index + ".png");
+            nativeSizes[index] = size;
+        }
+        return size;
+    }
+
+    private int[] readPngSize(String path) {
+        try (InputStream in = getClass().getResourceAsStream(path)) {
+            if (in != null) {
+                DataInputStream data = new DataInputStream(in);
+                data.skipNBytes(16); // signature, IHDR length and type
+                int width = data.readInt();
+                int height = data.readInt();
+                if (width > 0 && height > 0) {
+                    return new int[]{width, height};
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read background header " + path + ": " + e.getMessage());
+        }
+        return new int[]{DEFAULT_NATIVE_WIDTH, DEFAULT_NATIVE_HEIGHT};
+    }
+
+    private static void cancelIfLoading(Image pending) {
+        if (pending.getProgress() < 1.0) {
+            pending.cancel();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.adrian.finished.ui.assets;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All card faces of one resolution packed into a few large textures, with an index of where each face is.
+ *
+ * Cards render a face by showing the shared page image through {@link javafx.scene.image.ImageView#setViewport},
+ * so the whole board uses one texture per resolution instead of one per card: fewer decodes, fewer GPU texture
+ * switches and, under JPro, far fewer distinct images to send to each browser.
+ *
+ * Atlases are built once per JVM on a daemon thread with {@link #buildAsync} and shared by all sessions.
+ * Faces missing in the resolution are scaled from the nearest one that exists, so every cell has the same size.
+ * Atlas rendering can be turned off with -Dfinished.cards.atlas=false. It is off by default when assets are
+ * served over HTTP (JPro): generated pages would be streamed to every session, while the single images are
+ * referenced by cacheable URLs (see {@link AssetUrls}).
+ */
+public final class CardAtlas {
+
+    /**
+     * Where a face is: the page image and the viewport to show on it.
+     */
+    public record Frame(Image page, Rectangle2D viewport) { }
+
+    static final int MAX_PAGE_SIZE = 4096;
+    // Transparent gap between cells, so smooth scaling never samples a neighbouring face
+    private static final int GUTTER = 2;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("finished.cards.atlas", String.valueOf(!AssetUrls.isServing())));
+    private static final Map<CardImageVariant, CompletableFuture<CardAtlas>> ATLASES = new ConcurrentHashMap<>();
+
+    private final CardImageVariant variant;
+    private final List<WritableImage> pages;
+    private final Map<String, Frame> frames;
+
+    private CardAtlas(CardImageVariant variant, List<WritableImage> pages, Map<String, Frame> frames) {
+        this.variant = variant;
+        this.pages = pages;
+        this.frames = frames;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Builds the atlas of the resolution on a daemon thread, once per JVM; later calls return the same future.
+     */
+    public static CompletableFuture<CardAtlas> buildAsync(CardImageVariant variant) {
+        Objects.requireNonNull(variant, "variant cannot be null");
+        return ATLASES.computeIfAbsent(variant, v -> CompletableFuture.supplyAsync(() -> build(v), task -> {
+            Thread thread = new Thread(task, "card-atlas-" + v.name().toLowerCase());
+            thread.setDaemon(true);
+            thread.start();
+        }));
+    }
+
+    /**
+     * The atlas of the resolution if it has been built, else null. Never blocks.
+     */
+    public static CardAtlas ifReady(CardImageVariant variant) {
+        CompletableFuture<CardAtlas> atlas = ATLASES.get(variant);
+        return atlas != null && atlas.isDone() && !atlas.isCompletedExceptionally() ? atlas.join() : null;
+    }
+
+    /**
+     * The frame of a face, e.g. frame(47, "cardc_2"), or null if the card has no such face.
+     */
+    public Frame frame(int cardNumber, String face) {
+        return frames.get(key(cardNumber, face));
+    }
+
+    public CardImageVariant variant() {
+        return variant;
+    }
+
+    public int faceCount() {
+        return frames.size();
+    }
+
+    public int pageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Memory held by the page pixels, at 4 bytes per pixel.
+     */
+    public long bytes() {
+        long bytes = 0;
+        for (WritableImage page : pages) {
+            bytes += ImageCache.decodedBytes(page);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s card atlas: %d faces on %d pages (%d KB)",
+                variant, faceCount(), pageCount(), bytes() / 1024);
+    }
+
+    static CardAtlas build(CardImageVariant variant) {
+        long start = System.nanoTime();
+        int cellWidth = variant.pixelWidth();
+        int cellHeight = variant.pixelHeight();
+        int strideX = cellWidth + GUTTER;
+        int strideY = cellHeight + GUTTER;
+        int columns = MAX_PAGE_SIZE / strideX;
+        int cellsPerPage = columns * (MAX_PAGE_SIZE / strideY);
+
+        // Collect the faces that exist, in the preferred resolution or the nearest one
+        List<String> keys = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (int number = 1; number <= CardImagePreloader.CARD_COUNT; number++) {
+            for (String face : CardImagePreloader.FACES) {
+                String path = CardImageVariant.resolve(number, face, variant);
+                if (path != null) {
+                    keys.add(key(number, face));
+                    paths.add(path);
+                }
+            }
+        }
+
+        List<WritableImage> pages = new ArrayList<>();
+        Map<String, Frame> frames = new HashMap<>();
+        for (int first = 0; first < paths.size(); first += cellsPerPage) {
+            int count = Math.min(cellsPerPage, paths.size() - first);
+            int pageColumns = Math.min(columns, count);
+            int pageRows = (count + columns - 1) / columns;
+            WritableImage page = new WritableImage(pageColumns * strideX, pageRows * strideY);
+            PixelWriter writer = page.getPixelWriter();
+            for (int i = 0; i < count; i++) {
+                int x = (i % columns) * strideX;
+                int y = (i / columns) * strideY;
+                Image face = decode(paths.get(first + i), cellWidth, cellHeight);
+                if (face == null) continue;
+                int width = Math.min(cellWidth, (int) face.getWidth());
+                int height = Math.min(cellHeight, (int) face.getHeight());
+                writer.setPixels(x, y, width, height, face.getPixelReader(), 0, 0);
+                frames.put(keys.get(first + i), new Frame(page, new Rectangle2D(x, y, width, height)));
+            }
+            pages.add(page);
+        }
+
+        CardAtlas atlas = new CardAtlas(variant, Collections.unmodifiableList(pages), Map.copyOf(frames));
+        System.out.println("🗺️ Built " + atlas + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return atlas;
+    }
+
+    // Decoded at cell size, which is the native size unless the face came from another resolution
+    private static Image decode(String path, int width, int height) {
+        try (InputStream in = CardAtlas.class.getResourceAsStream(path)) {
+            if (in == null) return null;
+            Image image = new Image(in, width, height, false, true);
+            if (image.isError()) {
+                System.err.println("Failed to decode card image " + path + ": " + image.getException());
+                return null;
+            }
+            return image;
+        } catch (IOException e) {
+            System.err.println("Failed to read card image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(int cardNumber, String face) {
+        return cardNumber + "_" + face;
+    }
+}
@@ -0,0 +1,137 @@
+package com.adrian.finished.ui.assets;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes the card faces for the current resolution into the shared {@link ImageCache} before they are first
+ * shown, so the first turns don't stall the FX thread on PNG decoding.
+ *
+ * Every face of the 48 cards (plain, candy, and each candy level of multi-candy cards) is decoded in the
+ * requested variants on a bounded pool of daemon threads, which is shut down afterwards. Faces already in the
+ * cache are skipped, so a preload after warm-up (e.g. for a second JPro session) costs nothing. A card shown
+ * while its face is being preloaded waits for that decode rather than decoding the face a second time.
+ *
+ * Usage example:
+ * <pre>
+ * CardImagePreloader.preload(Set.of(CardImageVariant.FULL, CardImageVariant.MEDIUM))
+ *         .thenAccept(report -> System.out.println(report));
+ * </pre>
+ */
+public final class CardImagePreloader {
+    private CardImagePreloader() { }
+
+    static final int CARD_COUNT = 48;
+    // Every face a card can show: plain, candy, and the levels of multi-candy cards
+    static final List<String> FACES = List.of("card", "cardc", "cardc_1", "cardc_2", "cardc_3");
+    private static final int MAX_THREADS = 4;
+
+    /**
+     * @param decoded   faces decoded by this preload
+     * @param fromCache faces that were already cached
+     * @param bytes     decoded pixel memory added by this preload
+     */
+    public record PreloadReport(int decoded, int fromCache, long bytes, long elapsedMs) {
+        @Override
+        public String toString() {
+            return String.format("🖼️ Preloaded %d card images (%d already cached, %d KB decoded) in %d ms",
+                    decoded, fromCache, bytes / 1024, elapsedMs);
+        }
+    }
+
+    /**
+     * Preloads on up to min(cores, 4) threads.
+     */
+    public static CompletableFuture<PreloadReport> preload(Set<CardImageVariant> variants) {
+        return preload(variants, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static CompletableFuture<PreloadReport> preload(Set<CardImageVariant> variants, int parallelism) {
+        Objects.requireNonNull(variants, "variants cannot be null");
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive, got: " + parallelism);
+        }
+        long start = System.nanoTime();
+        List<String> paths = new ArrayList<>();
+        int fromCache = 0;
+        for (String path : facePaths(variants)) {
+            if (ImageCache.contains(path)) {
+                fromCache++;
+            } else {
+                paths.add(path);
+            }
+        }
+        if (paths.isEmpty()) {
+            return CompletableFuture.completedFuture(new PreloadReport(0, fromCache, 0, elapsedMs(start)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, paths.size()), new PreloadThreads());
+        AtomicInteger decoded = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[paths.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            String path = paths.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                if (ImageCache.warm(path)) {
+                    decoded.incrementAndGet();
+                    bytes.addAndGet(ImageCache.decodedBytes(ImageCache.peek(path)));
+                }
+            }, pool);
+        }
+        int cached = fromCache;
+        return CompletableFuture.allOf(tasks)
+                .handle((ignored, failure) -> {
+                    pool.shutdown();
+                    if (failure != null) {
+                        System.err.println("Card image preload failed: " + failure.getMessage());
+                    }
+                    return new PreloadReport(decoded.get(), cached, bytes.get(), elapsedMs(start));
+                });
+    }
+
+    /**
+     * Resource paths of every existing card face in the given variants, after resolution fallback.
+     */
+    static Set<String> facePaths(Set<CardImageVariant> variants) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (CardImageVariant variant : variants) {
+            for (int number = 1; number <= CARD_COUNT; number++) {
+                for (String face : FACES) {
+                    addFace(paths, number, face, variant);
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static void addFace(Set<String> paths, int number, String face, CardImageVariant variant) {
+        String path = CardImageVariant.resolve(number, face, variant);
+        if (path != null) {
+            paths.add(path);
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static final class PreloadThreads implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "card-preload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.adrian.finished.ui.assets;
+
+import com.adrian.finished.model.Card;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolutions the card art under /assets/cards ships in, e.g. 12_card_small.png, 12_card_medium.png and
+ * 12_card.png. Pixel sizes are those of the PNGs.
+ *
+ * {@link #select(double, double)} picks the smallest variant that still covers a card's on-screen size,
+ * so small viewports decode and scale far fewer pixels. Not every face exists in every resolution (e.g.
+ * 47_cardc_2 has no medium variant); {@link #resolve} falls back to the nearest larger, then smaller one.
+ */
+public enum CardImageVariant {
+    SMALL(62, 112, "_small"),
+    MEDIUM(124, 225, "_medium"),
+    FULL(220, 400, "");
+
+    public static final String BASE_PATH = "/assets/cards/";
+
+    private static final CardImageVariant[] VALUES = values();
+    private static final Map<String, Boolean> EXISTS = new ConcurrentHashMap<>();
+
+    private final int pixelWidth;
+    private final int pixelHeight;
+    private final String suffix;
+
+    CardImageVariant(int pixelWidth, int pixelHeight, String suffix) {
+        this.pixelWidth = pixelWidth;
+        this.pixelHeight = pixelHeight;
+        this.suffix = suffix;
+    }
+
+    public int pixelWidth() {
+        return pixelWidth;
+    }
+
+    public int pixelHeight() {
+        return pixelHeight;
+    }
+
+    /**
+     * Smallest variant at least as wide as the card is drawn, in physical pixels; FULL when none is.
+     *
+     * @param logicalWidth card width in scene coordinates
+     * @param outputScale  the window's output scale (2.0 on most HiDPI screens)
+     */
+    public static CardImageVariant select(double logicalWidth, double outputScale) {
+        double required = logicalWidth * Math.max(1.0, outputScale);
+        for (CardImageVariant variant : VALUES) {
+            if (variant.pixelWidth >= required) {
+                return variant;
+            }
+        }
+        return FULL;
+    }
+
+    /**
+     * Resource path of a face in this resolution, whether or not it exists.
+     *
+     * @param face "card", "cardc" or "cardc_&lt;level&gt;"
+     */
+    public String path(int cardNumber, String face) {
+        return BASE_PATH + cardNumber + "_" + face + suffix + ".png";
+    }
+
+    /**
+     * Path of the face in the preferred resolution, or else in the nearest larger, then smaller, one that
+     * exists; null if the face exists in no resolution.
+     */
+    public static String resolve(int cardNumber, String face, CardImageVariant preferred) {
+        for (int i = preferred.ordinal(); i < VALUES.length; i++) {
+            String path = VALUES[i].path(cardNumber, face);
+            if (exists(path)) return path;
+        }
+        for (int i = preferred.ordinal() - 1; i >= 0; i--) {
+            String path = VALUES[i].path(cardNumber, face);
+            if (exists(path)) return path;
+        }
+        return null;
+    }
+
+    /**
+     * Face a card is shown with: "card", or once an ability was triggered "cardc", or "cardc_&lt;level&gt;" for
+     * cards with several candy slots. Falls back to "card" when the candy face does not exist.
+     */
+    public static String face(Card card) {
+        if (card.abilitiesTriggered() <= 0) {
+            return "card";
+        }
+        String face = card.maxAbilities() > 1 ? "cardc_" + card.abilitiesTriggered() : "cardc";
+        return exists(card.number(), face) ? face : "card";
+    }
+
+    /**
+     * Whether the face exists in any resolution. Looks the resource up without decoding it.
+     */
+    public static boolean exists(int cardNumber, String face) {
+        return resolve(cardNumber, face, FULL) != null;
+    }
+
+    private static boolean exists(String path) {
+        return EXISTS.computeIfAbsent(path, p -> CardImageVariant.class.getResource(p) != null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.adrian.finished.ui.assets;
+
+import javafx.scene.image.Image;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide cache of decoded images keyed by resource path, shared by every card on screen and, under JPro,
+ * by every session. Images are immutable once decoded, so sharing them is safe from any thread.
+ *
+ * Images are loaded from {@link AssetUrls#url}: the classpath on the desktop, a cacheable content-hashed URL
+ * under JPro. Entries are never evicted: the cache only ever holds the card faces and icons actually used or
+ * preloaded, which is bounded by the files under /assets. Failed decodes are not cached.
+ *
+ * Each path maps to the future of its one decode, registered before decoding starts: a miss on a path that is
+ * already being decoded (e.g. by CardImagePreloader) waits for that decode instead of decoding the PNG again.
+ */
+public final class ImageCache {
+    private ImageCache() { }
+
+    // Completed with the image, or with null (and removed) when the decode failed
+    private static final Map<String, CompletableFuture<Image>> IMAGES = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder BYTES = new LongAdder();
+
+    /**
+     * The decoded image for the resource path. On a miss, waits for a decode already in flight on another
+     * thread, or decodes synchronously on the calling thread.
+     *
+     * @return the image, or null if the resource is missing or can't be decoded
+     */
+    public static Image get(String path) {
+        Objects.requireNonNull(path, "path cannot be null");
+        Image image = peek(path);
+        if (image != null) {
+            HITS.increment();
+            return image;
+        }
+        MISSES.increment();
+        CompletableFuture<Image> decoding = new CompletableFuture<>();
+        CompletableFuture<Image> existing = IMAGES.putIfAbsent(path, decoding);
+        if (existing != null) {
+            return existing.join();
+        }
+        return decode(path, decoding);
+    }
+
+    /**
+     * Decodes the resource into the cache unless it is already there or being decoded.
+     *
+     * @return true if this call decoded it
+     */
+    public static boolean warm(String path) {
+        Objects.requireNonNull(path, "path cannot be null");
+        if (IMAGES.containsKey(path)) {
+            return false;
+        }
+        CompletableFuture<Image> decoding = new CompletableFuture<>();
+        return IMAGES.putIfAbsent(path, decoding) == null && decode(path, decoding) != null;
+    }
+
+    /**
+     * Whether the image is decoded; false while its decode is still in flight.
+     */
+    public static boolean contains(String path) {
+        return peek(path) != null;
+    }
+
+    /**
+     * Decoded images in the cache.
+     */
+    public static int size() {
+        int size = 0;
+        for (CompletableFuture<Image> image : IMAGES.values()) {
+            if (image.getNow(null) != null) size++;
+        }
+        return size;
+    }
+
+    /**
+     * Approximate memory held by the decoded pixels, at 4 bytes per pixel.
+     */
+    public static long decodedBytes() {
+        return BYTES.sum();
+    }
+
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    public static void clear() {
+        IMAGES.clear();
+        BYTES.reset();
+    }
+
+    /**
+     * The cached image without decoding, waiting or counting a hit; null if absent or still being decoded.
+     */
+    static Image peek(String path) {
+        CompletableFuture<Image> image = IMAGES.get(path);
+        return image == null ? null : image.getNow(null);
+    }
+
+    static long decodedBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4L;
+    }
+
+    // Runs outside of the map, so misses on other keys never wait; only this path's waiters do
+    private static Image decode(String path, CompletableFuture<Image> decoding) {
+        Image image = null;
+        try {
+            image = load(path);
+        } finally {
+            if (image == null) {
+                // Not cached: waiters get null and the next miss tries again
+                IMAGES.remove(path, decoding);
+            } else {
+                BYTES.add(decodedBytes(image));
+            }
+            decoding.complete(image);
+        }
+        return image;
+    }
+
+    private static Image load(String path) {
+        // Loaded by URL, so under JPro the browser can fetch (and cache) the asset itself
+        String url = AssetUrls.url(path);
+        if (url == null) {
+            System.err.println("Image resource not found: " + path);
+            return null;
+        }
+        Image image = new Image(url);
+        if (image.isError()) {
+            System.err.println("Failed to decode image " + path + ": " + image.getException());
+            return null;
+        }
+        return image;
+    }
+}
@@ -0,0 +1,686 @@
+package com.adrian.finished.ui.canvas;
+
+import com.adrian.finished.model.Card;
+import com.adrian.finished.model.FutureArea;
+import com.adrian.finished.model.GameState;
+import com.adrian.finished.ui.DimensionService;
+import com.adrian.finished.ui.DimensionSnapshot;
+import com.adrian.finished.ui.assets.CardAtlas;
+import com.adrian.finished.ui.assets.CardImageVariant;
+import com.adrian.finished.ui.assets.ImageCache;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontPosture;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Draws the whole board of a GameState on a single Canvas: future, present and past areas, the active
+ * stash and the finished pile. Card faces come from the shared {@link CardAtlas} pages or the
+ * {@link ImageCache}, the same textures the node-based cards use.
+ *
+ * This is the lightweight alternative to GameRootLayout, which creates a StackPane, an ImageView, drag
+ * handlers and bindings per card: here the board is one node, which matters under JPro where every node
+ * is mirrored to the browser. The canvas does its own hit-testing. A click on a present card activates it,
+ * dragging a present card onto another swaps them, and the End Turn button ends the turn; each is reported
+ * through the callbacks, like the callbacks of PresentAreaLayout and ActiveStashLayout.
+ *
+ * All sizes are derived from the canvas size with the proportions of {@link DimensionSnapshot}. Redraws are
+ * coalesced: any number of state, size or pointer changes within a pulse cost one redraw.
+ */
+public class BoardCanvas extends Canvas {
+
+    @FunctionalInterface
+    public interface CardActivationCallback {
+        void onCardActivation(Card card);
+    }
+
+    @FunctionalInterface
+    public interface CardSwapCallback {
+        void onCardSwap(Card sourceCard, Card targetCard);
+    }
+
+    // Colors of game.css
+    private static final Color ROOT_COLOR = Color.web("#f0f5e6");
+    private static final Color FUTURE_COLOR = Color.web("#e6f3ff");
+    private static final Color PRESENT_COLOR = Color.web("#e6ffe6");
+    private static final Color PAST_COLOR = Color.web("#fffde6");
+    private static final Color PAST_BORDER_COLOR = Color.web("#cccc00");
+    private static final Color STASH_COLOR = Color.web("#ffe6cc");
+    private static final Color FINISHED_COLOR = Color.rgb(240, 230, 255, 0.9);
+    private static final Color FINISHED_BORDER_COLOR = Color.web("#999");
+    private static final Color BUTTON_COLOR = Color.web("#ff6b35");
+    private static final Color BUTTON_HOVER_COLOR = Color.web("#e55a2b");
+    private static final Color DROP_TARGET_COLOR = Color.web("#4CAF50");
+    private static final Color TEXT_COLOR = Color.web("#666");
+    private static final Color INDICATOR_COLOR = Color.web("#888");
+    private static final Color SHADOW_COLOR = Color.rgb(0, 0, 0, 0.3);
+
+    private static final Font TEXT_FONT = Font.getDefault();
+    private static final Font BUTTON_FONT = Font.font(TEXT_FONT.getFamily(), FontWeight.BOLD, TEXT_FONT.getSize());
+    private static final Font INDICATOR_FONT = Font.font(TEXT_FONT.getFamily(), FontPosture.ITALIC, 12);
+
+    private static final int MAX_PAST_CARDS = 3;
+    private static final int CANDY_SLOTS = 10;
+    private static final double CARD_RADIUS = 8;
+    private static final double HOVER_SCALE = 1.05;
+    // Pointer travel before a press on a card becomes a drag
+    private static final double DRAG_THRESHOLD = 5;
+
+    private final DimensionService dimensionService;
+    private final Image candyImage;
+    private final Image candyOutlineImage;
+    private final Image coffeeImage;
+    private final Set<CardImageVariant> awaitingAtlas = EnumSet.noneOf(CardImageVariant.class);
+    private final Text measure = new Text();
+
+    private GameState state;
+    private List<Card> pastCards = List.of();
+    private boolean redrawPending;
+
+    // Hit areas of the last drawn frame: present cards in state order, and the End Turn button
+    private double[] presentX = new double[16];
+    private double[] presentY = new double[16];
+    private double[] presentWidth = new double[16];
+    private double[] presentHeight = new double[16];
+    private int presentCount;
+    private double buttonX;
+    private double buttonY;
+    private double buttonWidth;
+    private double buttonHeight;
+    private boolean endTurnEnabled;
+
+    // Pointer state
+    private int hoverIndex = -1;
+    private boolean hoverButton;
+    private int pressIndex = -1;
+    private boolean pressButton;
+    private double pressX;
+    private double pressY;
+    private double pointerX;
+    private double pointerY;
+    private boolean dragging;
+    private int dropIndex = -1;
+
+    private CardActivationCallback cardActivationCallback;
+    private CardSwapCallback cardSwapCallback;
+    private Runnable endTurnCallback;
+
+    public BoardCanvas(DimensionService dimensionService) {
+        this.dimensionService = Objects.requireNonNull(dimensionService, "dimensionService cannot be null");
+
+        // Shared with other sessions and with the node-based stash
+        this.candyImage = ImageCache.get("/assets/other/candy.png");
+        this.candyOutlineImage = ImageCache.get("/assets/other/candy-outline.png");
+        this.coffeeImage = ImageCache.get("/assets/other/coffee.png");
+
+        widthProperty().addListener(obs -> requestRedraw());
+        heightProperty().addListener(obs -> requestRedraw());
+        // In scaled rendering mode, cards switch to art that is sharp at the zoom
+        dimensionService.renderScaleProperty().addListener(obs -> requestRedraw());
+
+        setOnMouseMoved(this::handleMouseMoved);
+        setOnMouseExited(this::handleMouseExited);
+        setOnMousePressed(this::handleMousePressed);
+        setOnMouseDragged(this::handleMouseDragged);
+        setOnMouseReleased(this::handleMouseReleased);
+    }
+
+    /**
+     * Shows a new state. Can be called from any thread; the board is redrawn on the FX thread.
+     */
+    public void setGameState(GameState state) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> setGameState(state));
+            return;
+        }
+        this.state = state;
+        this.pastCards = state == null ? List.of() : List.copyOf(state.past().cards());
+
+        // Gestures and hit areas refer to the cards of the previous state
+        presentCount = 0;
+        buttonWidth = 0;
+        hoverIndex = -1;
+        pressIndex = -1;
+        pressButton = false;
+        dropIndex = -1;
+        dragging = false;
+        requestRedraw();
+    }
+
+    public GameState getGameState() {
+        return state;
+    }
+
+    public void setCardActivationCallback(CardActivationCallback callback) {
+        this.cardActivationCallback = callback;
+    }
+
+    public void setCardSwapCallback(CardSwapCallback callback) {
+        this.cardSwapCallback = callback;
+    }
+
+    public void setEndTurnCallback(Runnable callback) {
+        this.endTurnCallback = callback;
+    }
+
+    // Resizable, so the parent sizes the canvas like any region
+
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    public double minWidth(double height) { return 0; }
+
+    @Override
+    public double minHeight(double width) { return 0; }
+
+    @Override
+    public double prefWidth(double height) { return getWidth(); }
+
+    @Override
+    public double prefHeight(double width) { return getHeight(); }
+
+    @Override
+    public double maxWidth(double height) { return Double.MAX_VALUE; }
+
+    @Override
+    public double maxHeight(double width) { return Double.MAX_VALUE; }
+
+    @Override
+    public void resize(double width, double height) {
+        setWidth(width);
+        setHeight(height);
+    }
+
+    private void requestRedraw() {
+        if (!redrawPending) {
+            redrawPending = true;
+            Platform.runLater(this::redraw);
+        }
+    }
+
+    private void redraw() {
+        redrawPending = false;
+        presentCount = 0;
+        buttonWidth = 0;
+
+        double width = getWidth();
+        double height = getHeight();
+        GraphicsContext gc = getGraphicsContext2D();
+        // Clearing the whole canvas also drops the previous frame's queued drawing commands
+        gc.clearRect(0, 0, width, height);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        gc.setFill(ROOT_COLOR);
+        gc.fillRect(0, 0, width, height);
+
+        // Areas stacked like GameAreasLayout, shrunk if needed so all four and the gaps fit
+        DimensionSnapshot dims = DimensionSnapshot.of(width, height);
+        double gap = dims.gapSmall();
+        double areasHeight = dims.futureAreaHeight() + dims.presentAreaHeight()
+                + dims.pastAreaHeight() + dims.stashBarHeight();
+        double fit = Math.min(1.0, Math.max(0, height - 3 * gap) / areasHeight);
+
+        double y = 0;
+        double futureHeight = dims.futureAreaHeight() * fit;
+        drawFutureArea(gc, dims, y, width, futureHeight);
+        y += futureHeight + gap;
+
+        double presentHeight = dims.presentAreaHeight() * fit;
+        drawPresentArea(gc, dims, y, width, presentHeight);
+        y += presentHeight + gap;
+
+        double pastHeight = dims.pastAreaHeight() * fit;
+        drawPastArea(gc, dims, y, width, pastHeight);
+        y += pastHeight + gap;
+
+        drawActiveStash(gc, dims, y, width, dims.stashBarHeight() * fit);
+        drawFinishedPile(gc, dims, width, height);
+
+        if (dragging && pressIndex >= 0 && pressIndex < presentCount) {
+            drawDraggedCard(gc);
+        }
+    }
+
+    private void drawFutureArea(GraphicsContext gc, DimensionSnapshot dims, double y, double width, double height) {
+        gc.setFill(FUTURE_COLOR);
+        gc.fillRect(0, y, width, height);
+
+        List<FutureArea> futureAreas = state == null ? List.of() : state.futureAreas();
+        List<Card> cards = futureAreas.isEmpty() ? List.of() : futureAreas.getFirst().cards();
+        if (cards.isEmpty()) {
+            drawCenteredText(gc, "Future Areas - Upcoming cards", 0, y, width, height);
+            return;
+        }
+
+        double padding = dims.gapSmall();
+        double left = padding;
+        if (futureAreas.size() > 1) {
+            left += drawIndicator(gc, "+" + (futureAreas.size() - 1) + " more future areas",
+                    left, y + padding + dims.smallCardHeight() / 2) + padding;
+        }
+        drawCardRow(gc, cards, 0, cards.size(), left, y + padding, width - left - padding, height - 2 * padding,
+                dims.smallCardWidth(), dims.smallCardHeight(), dims.gapSmall(), true, false);
+    }
+
+    private void drawPresentArea(GraphicsContext gc, DimensionSnapshot dims, double y, double width, double height) {
+        gc.setFill(PRESENT_COLOR);
+        gc.fillRect(0, y, width, height);
+
+        List<Card> cards = state == null ? List.of() : state.present().cards();
+        if (cards.isEmpty()) {
+            drawCenteredText(gc, "Present Area - Active cards", 0, y, width, height);
+            return;
+        }
+
+        double padding = dims.gapMedium();
+        drawCardRow(gc, cards, 0, cards.size(), padding, y + padding, width - 2 * padding, height - 2 * padding,
+                dims.cardWidth(), dims.cardHeight(), dims.gapMedium(), false, true);
+    }
+
+    private void drawPastArea(GraphicsContext gc, DimensionSnapshot dims, double y, double width, double height) {
+        gc.setFill(PAST_COLOR);
+        gc.fillRect(0, y, width, height);
+        gc.setStroke(PAST_BORDER_COLOR);
+        gc.setLineWidth(2);
+        gc.strokeRect(1, y + 1, width - 2, height - 2);
+
+        if (pastCards.isEmpty()) {
+            drawCenteredText(gc, "Past Area - Last 3 cards", 0, y, width, height);
+            return;
+        }
+
+        // The most recent cards, with a count of the hidden ones
+        double padding = dims.gapMedium();
+        double left = padding;
+        int from = Math.max(0, pastCards.size() - MAX_PAST_CARDS);
+        if (from > 0) {
+            left += drawIndicator(gc, "+" + from + " more", left, y + height / 2) + padding;
+        }
+        drawCardRow(gc, pastCards, from, pastCards.size(), left, y + padding, width - left - padding,
+                height - 2 * padding, dims.smallCardWidth(), dims.smallCardHeight(), dims.gapSmall(), false, false);
+    }
+
+    private void drawActiveStash(GraphicsContext gc, DimensionSnapshot dims, double y, double width, double height) {
+        gc.setFill(STASH_COLOR);
+        gc.fillRect(0, y, width, height);
+        if (state == null) {
+            return;
+        }
+
+        double centerY = y + height / 2;
+        double x = dims.gapSmall();
+
+        // Candy tokens: filled for the active candy, outlined for the empty slots
+        int candy = Math.max(0, Math.min(CANDY_SLOTS, state.activeStash().candy()));
+        double tokenSize = dims.candyTokenSize();
+        for (int i = 0; i < CANDY_SLOTS; i++) {
+            gc.setGlobalAlpha(i < candy ? 1.0 : 0.5);
+            drawIcon(gc, i < candy ? candyImage : candyOutlineImage, x, centerY - tokenSize / 2, tokenSize);
+            x += tokenSize + dims.gapSmall();
+        }
+        gc.setGlobalAlpha(1.0);
+        x += dims.gapLarge() - dims.gapSmall();
+
+        // Coffee
+        double iconSize = dims.coffeeIconSize();
+        drawIcon(gc, coffeeImage, x, centerY - iconSize / 2, iconSize);
+        x += iconSize + dims.gapSmall();
+        gc.setFill(Color.BLACK);
+        gc.setFont(TEXT_FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        String coffee = "x" + Math.max(0, state.activeStash().coffee());
+        gc.fillText(coffee, x, centerY);
+        x += textWidth(coffee, TEXT_FONT) + dims.gapLarge();
+
+        // End Turn button: enabled while the game runs and the turn has cards to end
+        endTurnEnabled = !state.gameEnd()
+                && (!state.present().cards().isEmpty() || !state.past().cards().isEmpty());
+        buttonWidth = textWidth("End Turn", BUTTON_FONT) + 32;
+        buttonHeight = BUTTON_FONT.getSize() + 16;
+        buttonX = x;
+        buttonY = centerY - buttonHeight / 2;
+        gc.setGlobalAlpha(endTurnEnabled ? 1.0 : 0.4);
+        gc.setFill(endTurnEnabled && hoverButton ? BUTTON_HOVER_COLOR : BUTTON_COLOR);
+        gc.fillRoundRect(buttonX, buttonY, buttonWidth, buttonHeight, 10, 10);
+        gc.setFill(Color.WHITE);
+        gc.setFont(BUTTON_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.fillText("End Turn", buttonX + buttonWidth / 2, centerY);
+        gc.setGlobalAlpha(1.0);
+    }
+
+    private void drawFinishedPile(GraphicsContext gc, DimensionSnapshot dims, double width, double height) {
+        double pileWidth = dims.finishedPileWidth();
+        double pileHeight = dims.finishedPileHeight();
+        double x = width - dims.finishedPileRight() - pileWidth;
+        double y = height - dims.finishedPileBottom() - pileHeight;
+        gc.setFill(FINISHED_COLOR);
+        gc.fillRoundRect(x, y, pileWidth, pileHeight, 16, 16);
+        gc.setStroke(FINISHED_BORDER_COLOR);
+        gc.setLineWidth(2);
+        gc.strokeRoundRect(x + 1, y + 1, pileWidth - 2, pileHeight - 2, 16, 16);
+
+        // The highest scored card, like UIGameStateSynchronizer shows it
+        Card highest = null;
+        if (state != null) {
+            for (Card card : state.finishedPile().cards()) {
+                if (highest == null || card.number() > highest.number()) {
+                    highest = card;
+                }
+            }
+        }
+        if (highest == null) {
+            drawCenteredText(gc, "Finished\nPile", x, y, pileWidth, pileHeight);
+            return;
+        }
+        double padding = dims.gapSmall();
+        drawCard(gc, highest, x + padding, y + padding, pileWidth - 2 * padding, pileHeight - 2 * padding);
+    }
+
+    /**
+     * Draws cards[from, to) as a row centered in the box, scaled down uniformly if it does not fit, like
+     * FitToWidthRow. Records the hit areas of the present cards when present is true.
+     */
+    private void drawCardRow(GraphicsContext gc, List<Card> cards, int from, int to,
+                             double x, double y, double width, double height,
+                             double cardWidth, double cardHeight, double gap, boolean alignTop, boolean present) {
+        int count = to - from;
+        double rowWidth = count * cardWidth + (count - 1) * gap;
+        double scale = Math.min(1.0, Math.min(width / rowWidth, height / cardHeight));
+        if (!(scale > 0)) {
+            return;
+        }
+        double drawnWidth = cardWidth * scale;
+        double drawnHeight = cardHeight * scale;
+        double left = x + (width - rowWidth * scale) / 2;
+        double top = alignTop ? y : y + (height - drawnHeight) / 2;
+        if (present) {
+            ensureHitCapacity(count);
+        }
+
+        for (int i = 0; i < count; i++) {
+            double cardX = left + i * (cardWidth + gap) * scale;
+            Card card = cards.get(from + i);
+            if (!present) {
+                drawCard(gc, card, cardX, top, drawnWidth, drawnHeight);
+                continue;
+            }
+
+            presentX[i] = cardX;
+            presentY[i] = top;
+            presentWidth[i] = drawnWidth;
+            presentHeight[i] = drawnHeight;
+            presentCount = i + 1;
+
+            if (dragging && i == pressIndex) {
+                // The dragged card stays dimmed in place, like the drag-source style
+                gc.setGlobalAlpha(0.7);
+                drawCard(gc, card, cardX, top, drawnWidth, drawnHeight);
+                gc.setGlobalAlpha(1.0);
+            } else if (!dragging && i == hoverIndex) {
+                double grownWidth = drawnWidth * HOVER_SCALE;
+                double grownHeight = drawnHeight * HOVER_SCALE;
+                drawCard(gc, card, cardX - (grownWidth - drawnWidth) / 2, top - (grownHeight - drawnHeight) / 2,
+                        grownWidth, grownHeight);
+            } else {
+                drawCard(gc, card, cardX, top, drawnWidth, drawnHeight);
+            }
+            if (dragging && i == dropIndex) {
+                gc.setStroke(DROP_TARGET_COLOR);
+                gc.setLineWidth(2);
+                gc.strokeRoundRect(cardX, top, drawnWidth, drawnHeight, CARD_RADIUS, CARD_RADIUS);
+            }
+        }
+    }
+
+    private void drawDraggedCard(GraphicsContext gc) {
+        double width = presentWidth[pressIndex];
+        double height = presentHeight[pressIndex];
+        // Keeps the point of the card that was grabbed under the pointer
+        double x = presentX[pressIndex] + pointerX - pressX;
+        double y = presentY[pressIndex] + pointerY - pressY;
+        gc.setGlobalAlpha(0.8);
+        drawCard(gc, state.present().cards().get(pressIndex), x, y, width, height);
+        gc.setGlobalAlpha(1.0);
+    }
+
+    /**
+     * Draws the card's face fitted into the box, keeping its aspect ratio.
+     */
+    private void drawCard(GraphicsContext gc, Card card, double x, double y, double width, double height) {
+        CardImageVariant variant = CardImageVariant.select(width, outputScale() * dimensionService.getRenderScale());
+        String face = CardImageVariant.face(card);
+
+        CardAtlas atlas = CardAtlas.isEnabled() ? atlas(variant) : null;
+        CardAtlas.Frame frame = atlas == null ? null : atlas.frame(card.number(), face);
+        if (frame != null) {
+            Rectangle2D viewport = frame.viewport();
+            drawFitted(gc, frame.page(), viewport.getMinX(), viewport.getMinY(), viewport.getWidth(),
+                    viewport.getHeight(), x, y, width, height);
+            return;
+        }
+
+        String path = CardImageVariant.resolve(card.number(), face, variant);
+        Image image = path == null ? null : ImageCache.get(path);
+        if (image == null || image.isError() || image.getWidth() <= 0) {
+            // Keeps the board playable without the art
+            gc.setFill(Color.WHITE);
+            gc.fillRoundRect(x, y, width, height, CARD_RADIUS, CARD_RADIUS);
+            drawCenteredText(gc, String.valueOf(card.number()), x, y, width, height);
+            return;
+        }
+        drawFitted(gc, image, 0, 0, image.getWidth(), image.getHeight(), x, y, width, height);
+    }
+
+    private void drawFitted(GraphicsContext gc, Image image, double sx, double sy, double sw, double sh,
+                            double x, double y, double width, double height) {
+        double scale = Math.min(width / sw, height / sh);
+        double drawnWidth = sw * scale;
+        double drawnHeight = sh * scale;
+        double drawnX = x + (width - drawnWidth) / 2;
+        double drawnY = y + (height - drawnHeight) / 2;
+
+        gc.setFill(SHADOW_COLOR);
+        gc.fillRoundRect(drawnX + 1, drawnY + 1, drawnWidth, drawnHeight, CARD_RADIUS, CARD_RADIUS);
+        gc.drawImage(image, sx, sy, sw, sh, drawnX, drawnY, drawnWidth, drawnHeight);
+    }
+
+    /**
+     * The atlas of the resolution if built; otherwise starts building it and redraws once it is.
+     */
+    private CardAtlas atlas(CardImageVariant variant) {
+        CardAtlas atlas = CardAtlas.ifReady(variant);
+        if (atlas == null && awaitingAtlas.add(variant)) {
+            CardAtlas.buildAsync(variant).thenRun(() -> Platform.runLater(this::requestRedraw));
+        }
+        return atlas;
+    }
+
+    private void drawIcon(GraphicsContext gc, Image image, double x, double y, double size) {
+        if (image != null && !image.isError() && image.getWidth() > 0) {
+            double scale = Math.min(size / image.getWidth(), size / image.getHeight());
+            double width = image.getWidth() * scale;
+            double height = image.getHeight() * scale;
+            gc.drawImage(image, x + (size - width) / 2, y + (size - height) / 2, width, height);
+        }
+    }
+
+    private void drawCenteredText(GraphicsContext gc, String text, double x, double y, double width, double height) {
+        gc.setFill(TEXT_COLOR);
+        gc.setFont(TEXT_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(text, x + width / 2, y + height / 2);
+    }
+
+    /**
+     * Draws a left aligned indicator like "+2 more" and returns its width.
+     */
+    private double drawIndicator(GraphicsContext gc, String text, double x, double centerY) {
+        gc.setFill(INDICATOR_COLOR);
+        gc.setFont(INDICATOR_FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(text, x, centerY);
+        return textWidth(text, INDICATOR_FONT);
+    }
+
+    private double textWidth(String text, Font font) {
+        measure.setFont(font);
+        measure.setText(text);
+        return measure.getLayoutBounds().getWidth();
+    }
+
+    private double outputScale() {
+        Window window = getScene() == null ? null : getScene().getWindow();
+        return window != null ? window.getOutputScaleX() : Screen.getPrimary().getOutputScaleX();
+    }
+
+    private void ensureHitCapacity(int count) {
+        if (presentX.length < count) {
+            int capacity = Math.max(count, presentX.length * 2);
+            presentX = new double[capacity];
+            presentY = new double[capacity];
+            presentWidth = new double[capacity];
+            presentHeight = new double[capacity];
+        }
+    }
+
+    // Hit-testing against the last drawn frame
+
+    private int hitPresentCard(double x, double y) {
+        // Last drawn is on top
+        for (int i = presentCount - 1; i >= 0; i--) {
+            if (x >= presentX[i] && x < presentX[i] + presentWidth[i]
+                    && y >= presentY[i] && y < presentY[i] + presentHeight[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hitEndTurnButton(double x, double y) {
+        return buttonWidth > 0 && x >= buttonX && x < buttonX + buttonWidth && y >= buttonY && y < buttonY + buttonHeight;
+    }
+
+    private Card presentCard(int index) {
+        List<Card> cards = state == null ? List.of() : state.present().cards();
+        return index >= 0 && index < cards.size() ? cards.get(index) : null;
+    }
+
+    private void handleMouseMoved(MouseEvent event) {
+        int index = hitPresentCard(event.getX(), event.getY());
+        boolean onButton = hitEndTurnButton(event.getX(), event.getY());
+        if (index != hoverIndex || onButton != hoverButton) {
+            hoverIndex = index;
+            hoverButton = onButton;
+            setCursor(index >= 0 || (onButton && endTurnEnabled) ? Cursor.HAND : Cursor.DEFAULT);
+            requestRedraw();
+        }
+    }
+
+    private void handleMouseExited(MouseEvent event) {
+        if (hoverIndex >= 0 || hoverButton) {
+            hoverIndex = -1;
+            hoverButton = false;
+            setCursor(Cursor.DEFAULT);
+            requestRedraw();
+        }
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        pressIndex = hitPresentCard(event.getX(), event.getY());
+        pressButton = hitEndTurnButton(event.getX(), event.getY());
+        pressX = event.getX();
+        pressY = event.getY();
+        dragging = false;
+        dropIndex = -1;
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        if (pressIndex < 0) {
+            return;
+        }
+        pointerX = event.getX();
+        pointerY = event.getY();
+        if (!dragging && Math.hypot(pointerX - pressX, pointerY - pressY) < DRAG_THRESHOLD) {
+            return;
+        }
+        dragging = true;
+        int index = hitPresentCard(pointerX, pointerY);
+        dropIndex = index == pressIndex ? -1 : index;
+        requestRedraw();
+    }
+
+    private void handleMouseReleased(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        int sourceIndex = pressIndex;
+        int targetIndex = dropIndex;
+        boolean wasDragging = dragging;
+        boolean wasPressButton = pressButton;
+        pressIndex = -1;
+        pressButton = false;
+        dropIndex = -1;
+        dragging = false;
+
+        if (wasDragging) {
+            requestRedraw();
+            Card sourceCard = presentCard(sourceIndex);
+            Card targetCard = presentCard(targetIndex);
+            if (sourceCard != null && targetCard != null && cardSwapCallback != null) {
+                cardSwapCallback.onCardSwap(sourceCard, targetCard);
+            }
+            return;
+        }
+
+        if (sourceIndex >= 0 && sourceIndex == hitPresentCard(event.getX(), event.getY())) {
+            Card card = presentCard(sourceIndex);
+            if (card != null && canActivateWithCandy(card) && cardActivationCallback != null) {
+                cardActivationCallback.onCardActivation(card);
+            }
+        } else if (wasPressButton && endTurnEnabled && hitEndTurnButton(event.getX(), event.getY())
+                && endTurnCallback != null) {
+            endTurnCallback.run();
+        }
+    }
+
+    /**
+     * Same check as a click on an InteractiveCardComponent: the card has a candy face for its next activation.
+     */
+    private boolean canActivateWithCandy(Card card) {
+        if (card.maxAbilities() > 1) {
+            int nextCandyLevel = card.abilitiesTriggered() + 1;
+            return card.canTriggerAbility() && nextCandyLevel <= card.maxAbilities()
+                    && CardImageVariant.exists(card.number(), "cardc_" + nextCandyLevel);
+        }
+        return CardImageVariant.exists(card.number(), "cardc");
+    }
+}
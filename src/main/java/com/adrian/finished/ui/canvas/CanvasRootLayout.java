@@ -0,0 +1,27 @@
+package com.adrian.finished.ui.canvas;
+
+import com.adrian.finished.ui.DimensionService;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Root layout for the canvas renderer: the whole board is one {@link BoardCanvas} filling the root.
+ * Decision overlays are stacked on top of it, as on GameRootLayout.
+ */
+public class CanvasRootLayout extends StackPane {
+
+    private final BoardCanvas boardCanvas;
+
+    public CanvasRootLayout(DimensionService dimensionService) {
+        super();
+
+        // Set CSS style class
+        getStyleClass().add("game-root");
+
+        this.boardCanvas = new BoardCanvas(dimensionService);
+        getChildren().add(boardCanvas);
+    }
+
+    public BoardCanvas getBoardCanvas() {
+        return boardCanvas;
+    }
+}
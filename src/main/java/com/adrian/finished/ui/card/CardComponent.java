@@ -2,6 +2,12 @@ package com.adrian.finished.ui.card;
 
 import com.adrian.finished.model.Card;
 import com.adrian.finished.ui.DimensionService;
+import com.adrian.finished.ui.assets.CardAtlas;
+import com.adrian.finished.ui.assets.CardImageVariant;
+import com.adrian.finished.ui.assets.ImageCache;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -9,10 +15,16 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
+import javafx.stage.Screen;
+import javafx.stage.Window;
 
 /**
  * Visual representation of a Card that supports normal and candy-activated states.
  * Supports two size variants: normal (for Present area) and small (for Future, Past, Finished pile).
+ * The art is loaded in the smallest resolution that covers the bound card width at the window's output
+ * scale, and switched when a resize crosses a resolution boundary. Faces are drawn from the shared
+ * {@link CardAtlas} of that resolution once it is built, and from single images until then: a card asks for
+ * the atlas of the resolution it selects and redraws itself when the atlas is ready.
  */
 public class CardComponent extends StackPane {
 
@@ -21,6 +33,11 @@ public class CardComponent extends StackPane {
     private final BooleanProperty smallVariant = new SimpleBooleanProperty(false);
 
     private final ImageView backgroundImage;
+    private CardImageVariant imageVariant;
+    // Resolution whose atlas build this card already waits for, so it registers one redraw per resolution
+    private CardImageVariant awaitingAtlas;
+    // Held strongly here and registered weakly, so the long-lived DimensionService never retains this card
+    private final InvalidationListener renderScaleListener = obs -> updateImageVariant();
 
     public CardComponent(DimensionService dimensionService, Card card, boolean smallVariant) {
         this.dimensionService = dimensionService;
@@ -44,6 +61,9 @@ public class CardComponent extends StackPane {
             bindNormalCardDimensions();
         }
 
+        // Pick the art resolution for the bound size before the first image is loaded
+        this.imageVariant = selectImageVariant();
+
         // Set up property listeners
         setupPropertyListeners();
 
@@ -80,11 +100,44 @@ public class CardComponent extends StackPane {
         // since the Card model contains abilitiesTriggered which drives visual state
         card.addListener((obs, oldCard, newCard) -> updateCardImage());
 
+        // Switch art resolution when the card is resized or moved to a window with another output scale.
+        // fitWidth follows the bound card width, including overrideDimensions()
+        backgroundImage.fitWidthProperty().addListener((obs, oldWidth, newWidth) -> updateImageVariant());
+        sceneProperty().addListener((obs, oldScene, newScene) -> updateImageVariant());
+        dimensionService.renderScaleProperty().addListener(new WeakInvalidationListener(renderScaleListener));
+
         // Initial update
         updateCardImage();
     }
 
 
+    private void updateImageVariant() {
+        CardImageVariant selected = selectImageVariant();
+        if (selected != imageVariant) {
+            imageVariant = selected;
+            updateCardImage();
+        }
+    }
+
+    private CardImageVariant selectImageVariant() {
+        double width = backgroundImage.getFitWidth();
+        if (width <= 0) {
+            // Not sized yet
+            return smallVariant.get() ? CardImageVariant.SMALL : CardImageVariant.FULL;
+        }
+        return CardImageVariant.select(width, getPixelScale());
+    }
+
+    /**
+     * Physical pixels per scene unit this card is drawn at: the window's output scale times the render scale.
+     */
+    public double getPixelScale() {
+        Window window = getScene() == null ? null : getScene().getWindow();
+        double outputScale = window != null ? window.getOutputScaleX() : Screen.getPrimary().getOutputScaleX();
+        // In scaled rendering mode the whole board is drawn larger than its logical size
+        return outputScale * dimensionService.getRenderScale();
+    }
+
     private void updateCardImage() {
         Card currentCard = card.get();
         if (currentCard == null) {
@@ -92,72 +145,44 @@ public class CardComponent extends StackPane {
             return;
         }
 
-        // For cards with multiple candy slots (maxAbilities > 1), use Card model state
-        // For cards with single candy slot (maxAbilities <= 1), use either Card model or UI state
-        boolean shouldShowCandy;
-        if (hasMultipleCandySlots(currentCard)) {
-            // Multi-candy cards: always use Card model state
-            shouldShowCandy = currentCard.abilitiesTriggered() > 0;
-        } else {
-            // Single-candy cards: use Card model state OR UI state (for compatibility)
-            shouldShowCandy = currentCard.abilitiesTriggered() > 0; // || candyActivated.get();
+        // "card", "cardc" or "cardc_<level>", following the triggered abilities of the Card model
+        String face = CardImageVariant.face(currentCard);
+
+        // Show the face through a viewport on the shared atlas page once the atlas is built
+        CardAtlas atlas = CardAtlas.isEnabled() ? atlas(imageVariant) : null;
+        CardAtlas.Frame frame = atlas == null ? null : atlas.frame(currentCard.number(), face);
+        if (frame != null) {
+            backgroundImage.setImage(frame.page());
+            backgroundImage.setViewport(frame.viewport());
+            return;
         }
 
-        String imagePath = buildImagePath(currentCard.number(), shouldShowCandy, smallVariant.get());
-        try {
-            Image image = new Image(getClass().getResourceAsStream(imagePath));
-            if (image.isError()) {
-                // Fallback to normal variant if candy version doesn't exist
-                if (shouldShowCandy) {
-                    String fallbackPath = buildImagePath(currentCard.number(), false, smallVariant.get());
-                    image = new Image(getClass().getResourceAsStream(fallbackPath));
-                }
-            }
-            backgroundImage.setImage(image);
-        } catch (Exception e) {
-            System.err.println("Failed to load card image: " + imagePath);
+        String imagePath = CardImageVariant.resolve(currentCard.number(), face, imageVariant);
+        if (imagePath == null) {
+            System.err.println("No card image for card " + currentCard.number());
             backgroundImage.setImage(null);
+            return;
         }
+        // Shared across all cards and sessions; usually already warmed by CardImagePreloader
+        Image image = ImageCache.get(imagePath);
+        if (image == null) {
+            System.err.println("Failed to load card image: " + imagePath);
+        }
+        backgroundImage.setViewport(null);
+        backgroundImage.setImage(image);
     }
 
 
-    private String buildImagePath(int cardNumber, boolean candyState, boolean small) {
-        String basePath = "/assets/cards/";
-        String suffix;
-
-        if (small) {
-            // Small variant
-            if (candyState) {
-                Card currentCard = card.get();
-                if (currentCard != null && hasMultipleCandySlots(currentCard)) {
-                    // Multi-candy cards: use specific candy level
-                    int candyLevel = Math.max(1, currentCard.abilitiesTriggered()); // At least 1 if showing candy
-                    suffix = "_cardc_" + candyLevel + "_small.png";
-                } else {
-                    // Single-candy cards: use standard candy variant
-                    suffix = "_cardc_small.png";
-                }
-            } else {
-                suffix = "_card_small.png";
-            }
-        } else {
-            // Normal variant
-            if (candyState) {
-                Card currentCard = card.get();
-                if (currentCard != null && hasMultipleCandySlots(currentCard)) {
-                    // Multi-candy cards: use specific candy level
-                    int candyLevel = Math.max(1, currentCard.abilitiesTriggered()); // At least 1 if showing candy
-                    suffix = "_cardc_" + candyLevel + ".png";
-                } else {
-                    // Single-candy cards: use standard candy variant
-                    suffix = "_cardc.png";
-                }
-            } else {
-                suffix = "_card.png";
-            }
+    /**
+     * The atlas of the resolution if built; otherwise starts building it and redraws the card once it is.
+     */
+    private CardAtlas atlas(CardImageVariant variant) {
+        CardAtlas atlas = CardAtlas.ifReady(variant);
+        if (atlas == null && awaitingAtlas != variant) {
+            awaitingAtlas = variant;
+            CardAtlas.buildAsync(variant).thenRun(() -> Platform.runLater(this::updateCardImage));
         }
-
-        return basePath + cardNumber + suffix;
+        return atlas;
     }
 
     /**
@@ -212,28 +237,11 @@ public class CardComponent extends StackPane {
                 return false; // Already at maximum candy level
             }
 
-            // Build path for the next candy level
-            String basePath = "/assets/cards/";
-            String suffix = smallVariant.get()
-                    ? "_cardc_" + nextCandyLevel + "_small.png"
-                    : "_cardc_" + nextCandyLevel + ".png";
-            String candyImagePath = basePath + currentCard.number() + suffix;
-
-            try {
-                Image testImage = new Image(getClass().getResourceAsStream(candyImagePath));
-                return !testImage.isError();
-            } catch (Exception e) {
-                return false;
-            }
+            // Check that the next candy level image exists, without decoding it
+            return CardImageVariant.exists(currentCard.number(), "cardc_" + nextCandyLevel);
         } else {
             // Single-candy cards: check if the standard candy variant exists
-            String candyImagePath = buildImagePath(currentCard.number(), true, smallVariant.get());
-            try {
-                Image testImage = new Image(getClass().getResourceAsStream(candyImagePath));
-                return !testImage.isError();
-            } catch (Exception e) {
-                return false;
-            }
+            return CardImageVariant.exists(currentCard.number(), "cardc");
         }
     }
 
@@ -273,6 +281,8 @@ public class CardComponent extends StackPane {
     public BooleanProperty smallVariantProperty() { return smallVariant; }
     public boolean isSmallVariant() { return smallVariant.get(); }
 
+    public CardImageVariant getImageVariant() { return imageVariant; }
+
 
     /**
      * Determines if this card can still be activated with candy.
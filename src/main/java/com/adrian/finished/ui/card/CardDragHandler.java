@@ -1,76 +1,60 @@
 package com.adrian.finished.ui.card;
 
 import com.adrian.finished.model.Card;
-import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.image.Image;
-import javafx.scene.input.*;
+import com.adrian.finished.ui.JProEnvironment;
+import com.adrian.finished.ui.assets.CardImageVariant;
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.*;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Transform;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Handles drag and drop functionality for InteractiveCardComponent.
  * Supports both desktop JavaFX and JPro web environments with appropriate
  * visual feedback strategies.
+ *
+ * Drag images are snapshotted once per card, size, art resolution and pixel scale and reused for every later
+ * drag, in all sessions. They are rendered at the board's render scale, so under ScaledRootPane zoom the
+ * dragged card is as large as the card on screen.
  */
 public class CardDragHandler {
 
+    // Drag images by card (including its candy state), size, art resolution and pixel scale; only touched on
+    // the FX thread
+    private static final int DRAG_IMAGE_CACHE_SIZE = 64;
+    private static final Map<DragImageKey, WritableImage> DRAG_IMAGES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DragImageKey, WritableImage> eldest) {
+            return size() > DRAG_IMAGE_CACHE_SIZE;
+        }
+    };
+
+    private record DragImageKey(Card card, int width, int height, CardImageVariant variant, double pixelScale) { }
+
     private final InteractiveCardComponent cardComponent;
 
     // Drag and drop state
     private boolean isDragInProgress = false;
 
-    // JPro detection - shared static to avoid repeated detection
-    private static Boolean isJProMode = null;
-
     public CardDragHandler(InteractiveCardComponent cardComponent) {
         this.cardComponent = cardComponent;
         setupDragAndDropHandlers();
     }
 
-    /**
-     * Detect if we're running in JPro mode with manual override capability
-     */
     private static boolean isJProMode() {
-        if (isJProMode == null) {
-            try {
-                // Check for manual override first
-                String forceJPro = System.getProperty("force.jpro.mode");
-                if ("true".equals(forceJPro)) {
-                    isJProMode = true;
-                    System.out.println("🔍 JPro mode FORCED via system property");
-                    return isJProMode;
-                }
-                if ("false".equals(forceJPro)) {
-                    isJProMode = false;
-                    System.out.println("🔍 Desktop mode FORCED via system property");
-                    return isJProMode;
-                }
-
-                // Try WebAPI.isBrowser() - this is the most reliable method
-                try {
-                    Class<?> webAPIClass = Class.forName("com.jpro.webapi.WebAPI");
-                    java.lang.reflect.Method isBrowserMethod = webAPIClass.getMethod("isBrowser");
-                    Object result = isBrowserMethod.invoke(null);
-                    isJProMode = Boolean.TRUE.equals(result);
-                    System.out.println("🔍 Environment detected via WebAPI.isBrowser(): " + (isJProMode ? "JPro" : "Desktop"));
-                } catch (ClassNotFoundException e) {
-                    // WebAPI not in classpath - definitely not JPro
-                    isJProMode = false;
-                    System.out.println("🔍 Desktop mode detected (WebAPI not in classpath)");
-                } catch (Exception e) {
-                    // WebAPI available but method call failed - probably desktop
-                    isJProMode = false;
-                    System.out.println("🔍 Desktop mode detected (WebAPI call failed: " + e.getMessage() + ")");
-                }
-
-            } catch (Exception e) {
-                System.out.println("⚠️ Error detecting JPro mode, defaulting to desktop: " + e.getMessage());
-                isJProMode = false;
-            }
-        }
-        return isJProMode;
+        return JProEnvironment.isJProMode();
     }
 
     private void setupDragAndDropHandlers() {
@@ -95,16 +79,10 @@ public class CardDragHandler {
         content.putString("interactive-card-" + cardComponent.getCard().number());
         dragboard.setContent(content);
 
-        // Choose strategy based on environment
-        if (isJProMode()) {
-            // Use BufferedImage approach for web/JPro (works reliably in browser)
-            if (!setupBufferedImageDragView(dragboard, event)) {
-                // Fallback to CSS-only feedback if BufferedImage fails
-                setupJProDragFeedback();
-            }
-        } else {
-            // Use original snapshot approach for desktop (optimal performance)
-            setupDesktopDragView(dragboard, event);
+        // Same drag image in desktop and JPro mode, snapshotted once per card and size
+        if (!setupDragView(dragboard, event)) {
+            // Fallback to CSS-only feedback if no drag image could be produced
+            setupJProDragFeedback();
         }
 
         isDragInProgress = true;
@@ -112,152 +90,96 @@ public class CardDragHandler {
     }
 
     /**
-     * Create drag view using BufferedImage approach (should work in both desktop and JPro)
+     * Set the drag view to the cached drag image of this card at its current size and resolution
      */
-    private boolean setupBufferedImageDragView(Dragboard dragboard, MouseEvent event) {
+    private boolean setupDragView(Dragboard dragboard, MouseEvent event) {
         try {
-            System.out.println("🎯 Attempting BufferedImage drag view approach...");
-
-            // Get dimensions from the card component
-            int width = (int) Math.max(100, cardComponent.getWidth());
-            int height = (int) Math.max(40, cardComponent.getHeight());
-
-            // Create a BufferedImage with transparency support
-            BufferedImage dummyBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D graphics = dummyBuffer.createGraphics();
-
-            // Enable antialiasing for better quality
-            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-            // Try to get the actual card image if available
-            if (!cardComponent.getChildren().isEmpty() &&
-                    cardComponent.getChildren().getFirst() instanceof ImageView imageView &&
-                    imageView.getImage() != null && !imageView.getImage().isError()) {
-
-                // Convert JavaFX Image to BufferedImage if possible
-                try {
-                    BufferedImage cardImage = SwingFXUtils.fromFXImage(imageView.getImage(), null);
-                    if (cardImage != null) {
-                        // Draw the card image scaled to fit
-                        graphics.drawImage(cardImage, 0, 0, width, height, null);
-                        System.out.println("✅ Used actual card image in drag view");
-                    } else {
-                        // Fallback to colored rectangle
-                        drawFallbackDragImage(graphics, width, height);
-                    }
-                } catch (Exception e) {
-                    System.out.println("⚠️ Could not convert card image, using fallback: " + e.getMessage());
-                    drawFallbackDragImage(graphics, width, height);
+            ImageView imageView = cardImageView();
+            Card card = cardComponent.getCard();
+            int width = (int) Math.round(cardComponent.getWidth());
+            int height = (int) Math.round(cardComponent.getHeight());
+            double zoom = cardComponent.dimensionService.getRenderScale();
+
+            DragImageKey key = card == null ? null : new DragImageKey(card, width, height,
+                    cardComponent.getImageVariant(), cardComponent.getPixelScale());
+            WritableImage dragImage = key == null ? null : DRAG_IMAGES.get(key);
+            if (dragImage == null) {
+                dragImage = imageView != null
+                        ? imageView.snapshot(transparentSnapshot(zoom), null)
+                        : renderFallbackDragImage(Math.max(100, width), Math.max(40, height), zoom);
+                if (key != null) {
+                    DRAG_IMAGES.put(key, dragImage);
                 }
-            } else {
-                // No card image available, draw fallback
-                drawFallbackDragImage(graphics, width, height);
             }
 
-            graphics.dispose();
-
-            // Convert BufferedImage to JavaFX Image
-            Image fxImage = SwingFXUtils.toFXImage(dummyBuffer, null);
-
-            if (!fxImage.isError()) {
-                // Calculate offset based on mouse position
-                double offsetX = Math.max(0, Math.min(event.getX(), width));
-                double offsetY = Math.max(0, Math.min(event.getY(), height));
-
-                dragboard.setDragView(fxImage, offsetX, offsetY);
-                System.out.println("✅ BufferedImage drag view created successfully: " + width + "x" + height);
-
-                // Add visual feedback to source
-                cardComponent.getStyleClass().add("drag-source");
-                cardComponent.setOpacity(0.7);
+            // Calculate offset based on mouse position relative to the image
+            Bounds imageBounds = imageView != null ? imageView.getBoundsInParent() : null;
+            double imageX = imageBounds != null ? imageBounds.getMinX() : 0;
+            double imageY = imageBounds != null ? imageBounds.getMinY() : 0;
+            double offsetX = Math.max(0, Math.min((event.getX() - imageX) * zoom, dragImage.getWidth()));
+            double offsetY = Math.max(0, Math.min((event.getY() - imageY) * zoom, dragImage.getHeight()));
+            dragboard.setDragView(dragImage, offsetX, offsetY);
 
-                return true;
-            }
+            // Add visual feedback to source
+            cardComponent.getStyleClass().add("drag-source");
+            cardComponent.setOpacity(0.7);
+            return true;
 
         } catch (Exception e) {
-            System.err.println("❌ BufferedImage drag view creation failed: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("❌ Drag view creation failed: " + e.getMessage());
+            return false;
         }
+    }
 
-        return false;
+    /**
+     * The card's image view if it shows a valid image
+     */
+    private ImageView cardImageView() {
+        if (!cardComponent.getChildren().isEmpty() &&
+                cardComponent.getChildren().getFirst() instanceof ImageView imageView &&
+                imageView.getImage() != null && !imageView.getImage().isError()) {
+            return imageView;
+        }
+        return null;
     }
 
     /**
      * Draw a fallback drag image when the actual card image is not available
      */
-    private void drawFallbackDragImage(Graphics2D graphics, int width, int height) {
+    private WritableImage renderFallbackDragImage(int width, int height, double zoom) {
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+
         // Create a card-like appearance
         // Background
-        graphics.setColor(new java.awt.Color(240, 240, 240, 200)); // Light gray with transparency
+        graphics.setFill(Color.rgb(240, 240, 240, 0.8)); // Light gray with transparency
         graphics.fillRoundRect(0, 0, width, height, 10, 10);
 
         // Border
-        graphics.setColor(new java.awt.Color(100, 100, 100, 180));
-        graphics.setStroke(new BasicStroke(2));
-        graphics.drawRoundRect(1, 1, width - 2, height - 2, 10, 10);
+        graphics.setStroke(Color.rgb(100, 100, 100, 0.7));
+        graphics.setLineWidth(2);
+        graphics.strokeRoundRect(1, 1, width - 2, height - 2, 10, 10);
 
         // Card number or identifier
         Card card = cardComponent.getCard();
         if (card != null) {
-            graphics.setColor(new java.awt.Color(50, 50, 50, 200));
-            graphics.setFont(new Font("Arial", Font.BOLD, Math.min(width / 6, height / 3)));
-            FontMetrics fm = graphics.getFontMetrics();
-            String text = String.valueOf(card.number());
-            int textX = (width - fm.stringWidth(text)) / 2;
-            int textY = (height - fm.getHeight()) / 2 + fm.getAscent();
-            graphics.drawString(text, textX, textY);
+            graphics.setFill(Color.rgb(50, 50, 50, 0.8));
+            graphics.setFont(Font.font("Arial", FontWeight.BOLD, Math.min(width / 6, height / 3)));
+            graphics.setTextAlign(TextAlignment.CENTER);
+            graphics.setTextBaseline(VPos.CENTER);
+            graphics.fillText(String.valueOf(card.number()), width / 2.0, height / 2.0);
         }
 
-        System.out.println("📝 Drew fallback drag image");
+        return canvas.snapshot(transparentSnapshot(zoom), null);
     }
 
-    /**
-     * Set up drag view for desktop JavaFX (original approach as fallback)
-     */
-    private void setupDesktopDragView(Dragboard dragboard, MouseEvent event) {
-        try {
-            // Get the ImageView from the parent CardComponent
-            System.out.println("ADRIAN 1");
-            if (!cardComponent.getChildren().isEmpty() &&
-                    cardComponent.getChildren().getFirst() instanceof ImageView imageView) {
-
-                System.out.println("ADRIAN 2");
-                // Validate image before snapshot
-                if (imageView.getImage() != null && !imageView.getImage().isError()) {
-                    System.out.println("ADRIAN 3");
-                    // Use robust snapshot approach
-                    javafx.scene.SnapshotParameters params = new javafx.scene.SnapshotParameters();
-                    System.out.println("ADRIAN 4");
-                    params.setFill(javafx.scene.paint.Color.TRANSPARENT);
-                    System.out.println("ADRIAN 5");
-                    javafx.scene.image.WritableImage dragImage = imageView.snapshot(params, null);
-                    System.out.println("ADRIAN 6");
-                    if (dragImage != null && !dragImage.isError()) {
-                        System.out.println("ADRIAN 7");
-                        // Calculate proper offset
-                        double imageX = (cardComponent.getWidth() - imageView.getFitWidth()) / 2;
-                        double imageY = (cardComponent.getHeight() - imageView.getFitHeight()) / 2;
-                        double offsetX = Math.max(0, Math.min(event.getX() - imageX, dragImage.getWidth()));
-                        double offsetY = Math.max(0, Math.min(event.getY() - imageY, dragImage.getHeight()));
-                        System.out.printf("ADRIAN 8: offsetX=%.2f offsetY=%.2f%n", offsetX, offsetY);
-                        dragboard.setDragView(dragImage, offsetX, offsetY);
-                        System.out.println("ADRIAN 9");
-                        System.out.println("✅ Desktop drag view created successfully: " +
-                                dragImage.getWidth() + "x" + dragImage.getHeight());
-                    }
-                }
-            }
-
-            // Add visual feedback to source
-            cardComponent.getStyleClass().add("drag-source");
-            cardComponent.setOpacity(0.7);
-
-        } catch (Exception e) {
-            System.err.println("❌ Desktop drag view creation failed: " + e.getMessage());
-            // Fallback to JPro-style feedback
-            setupJProDragFeedback();
+    private static SnapshotParameters transparentSnapshot(double zoom) {
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        if (zoom != 1.0) {
+            params.setTransform(Transform.scale(zoom, zoom));
         }
+        return params;
     }
 
     /**
@@ -4,69 +4,115 @@ import com.adrian.finished.model.Card;
 import com.adrian.finished.model.GameState;
 import com.adrian.finished.model.abilities.AbilitySpec;
 import com.adrian.finished.ui.DimensionService;
-import com.adrian.finished.ui.card.InteractiveCardComponent;
+import com.adrian.finished.ui.ResizeCoordinator;
+import com.adrian.finished.ui.assets.AssetServer;
+import com.adrian.finished.ui.assets.AssetUrls;
+import com.adrian.finished.ui.assets.CardAtlas;
+import com.adrian.finished.ui.assets.CardImagePreloader;
+import com.adrian.finished.ui.assets.CardImageVariant;
+import com.adrian.finished.ui.canvas.BoardCanvas;
+import com.adrian.finished.ui.canvas.CanvasRootLayout;
 import com.adrian.finished.ui.layout.*;
 import com.adrian.finished.ui.pipeline.UIDecisionProvider;
 import com.adrian.finished.ui.pipeline.GameLoopManager;
 import com.adrian.finished.ui.pipeline.UIGameStateSynchronizer;
 import com.adrian.finished.ui.pipeline.AbilityActivationManager;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
 
 /**
  * Main game controller that manages the UI state and coordinates interactions
  * between different game areas. Handles mock data setup for Milestone 2.
+ *
+ * The board is rendered either by nodes (GameRootLayout, one node tree per card) or by a single
+ * {@link BoardCanvas}, chosen per session; both report to the same card and turn handlers.
  */
 public class GameController {
 
+    /**
+     * How a session draws the board.
+     */
+    public enum BoardRenderer {
+        /** One node tree per card and area, see GameRootLayout. */
+        NODES,
+        /** The whole board on one Canvas, for constrained clients and under high server load. */
+        CANVAS
+    }
+
+    // Sessions started and not closed yet, for choosing the renderer under load
+    private static final AtomicInteger OPEN_SESSIONS = new AtomicInteger();
+
     private final DimensionService dimensionService;
+    private final ResizeCoordinator resizeCoordinator;
+    private final BoardRenderer boardRenderer;
     private final GameRootLayout rootLayout;
-    private final GameAreasLayout gameAreasLayout;
+    private final CanvasRootLayout canvasRootLayout;
     private final UIDecisionProvider decisionProvider;
     private final GameLoopManager gameLoopManager;
     private final UIGameStateSynchronizer uiSynchronizer;
     private final AbilityActivationManager abilityActivationManager;
 
-    // Area references
-    private final PresentAreaLayout presentArea;
-    private final FutureAreasLayout futureAreas;
-    private final PastAreaLayout pastArea;
-    private final ActiveStashLayout activeStash;
-    private final FinishedPileOverlay finishedPile;
-
     public GameController(Stage primaryStage) {
+        this(primaryStage, boardRendererForNewSession());
+    }
+
+    public GameController(Stage primaryStage, BoardRenderer boardRenderer) {
+        this.boardRenderer = Objects.requireNonNull(boardRenderer, "boardRenderer cannot be null");
+
         // Create scene first to get dimensions
         Scene scene = new Scene(new javafx.scene.layout.Pane(), 1200, 800);
 
-        // Initialize dimension service
-        this.dimensionService = new DimensionService(
-            scene.widthProperty(),
-            scene.heightProperty()
-        );
+        // Initialize dimension service; in scaled mode sizes stay at the initial logical resolution,
+        // otherwise they follow the scene once a resize has settled (-Dfinished.resize.settleMs=0 for every change)
+        boolean scaledRendering = "scaled".equalsIgnoreCase(System.getProperty("finished.render.mode"));
+        long settleMillis = Long.getLong("finished.resize.settleMs", (long) ResizeCoordinator.DEFAULT_SETTLE_DELAY.toMillis());
+        this.resizeCoordinator = scaledRendering || settleMillis <= 0
+            ? null
+            : new ResizeCoordinator(scene.widthProperty(), scene.heightProperty(), Duration.millis(settleMillis));
+        if (scaledRendering) {
+            this.dimensionService = DimensionService.fixed(scene.getWidth(), scene.getHeight());
+        } else if (resizeCoordinator != null) {
+            this.dimensionService = resizeCoordinator.getDimensionService();
+        } else {
+            this.dimensionService = new DimensionService(scene.widthProperty(), scene.heightProperty());
+        }
 
-        // Create root layout
-        this.rootLayout = new GameRootLayout(dimensionService);
-        this.gameAreasLayout = rootLayout.getGameAreasLayout();
+        // Decode the card art for this size in the background while the scene is built
+        preloadCardImages();
 
-        // Initialize decision provider
-        this.decisionProvider = new UIDecisionProvider(rootLayout, dimensionService);
+        // Create root layout: the node tree, or the canvas with its own state rendering
+        Pane root;
+        if (boardRenderer == BoardRenderer.CANVAS) {
+            this.rootLayout = null;
+            this.uiSynchronizer = null;
+            this.canvasRootLayout = new CanvasRootLayout(dimensionService);
+            root = canvasRootLayout;
+        } else {
+            this.canvasRootLayout = null;
+            this.rootLayout = new GameRootLayout(dimensionService);
+            this.uiSynchronizer = new UIGameStateSynchronizer(rootLayout.getGameAreasLayout(), rootLayout.getFinishedPileOverlay());
+            root = rootLayout;
+        }
+        int openSessions = OPEN_SESSIONS.incrementAndGet();
+        primaryStage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> OPEN_SESSIONS.decrementAndGet());
+        System.out.println("🖼️ Rendering the board with " + boardRenderer + " (" + openSessions + " open sessions)");
+
+        // Initialize decision provider; overlays are stacked on the root layout
+        this.decisionProvider = new UIDecisionProvider(root, dimensionService);
 
         // Initialize game loop system
         this.gameLoopManager = new GameLoopManager(decisionProvider);
         this.abilityActivationManager = new AbilityActivationManager();
 
-        // Get references to all areas
-        this.presentArea = gameAreasLayout.getPresentAreaLayout();
-        this.futureAreas = gameAreasLayout.getFutureAreasLayout();
-        this.pastArea = gameAreasLayout.getPastAreaLayout();
-        this.activeStash = gameAreasLayout.getActiveStashLayout();
-        this.finishedPile = rootLayout.getFinishedPileOverlay();
-
-        // Initialize UI synchronizer
-        this.uiSynchronizer = new UIGameStateSynchronizer(gameAreasLayout, finishedPile);
-
         // Set up interactions
         setupInteractions();
 
@@ -74,7 +120,13 @@ public class GameController {
         setupGameLoop();
 
         // Set up scene
-        scene.setRoot(rootLayout);
+        if (scaledRendering) {
+            scene.setRoot(new ScaledRootPane(root, dimensionService));
+        } else if (resizeCoordinator != null) {
+            scene.setRoot(new DebouncedRootPane(root, dimensionService));
+        } else {
+            scene.setRoot(root);
+        }
         scene.getStylesheets().add(getClass().getResource("/styles/game.css").toExternalForm());
 
         primaryStage.setScene(scene);
@@ -83,18 +135,68 @@ public class GameController {
         primaryStage.setMinHeight(600);
     }
 
+    /**
+     * Renderer for a session started now: -Dfinished.board.renderer=canvas|nodes (default nodes), switched to
+     * canvas while at least -Dfinished.board.canvasAboveSessions sessions are open (default 0, never).
+     */
+    public static BoardRenderer boardRendererForNewSession() {
+        String configured = System.getProperty("finished.board.renderer", "nodes");
+        if ("canvas".equalsIgnoreCase(configured.trim())) {
+            return BoardRenderer.CANVAS;
+        }
+        int canvasAboveSessions = Integer.getInteger("finished.board.canvasAboveSessions", 0);
+        if (canvasAboveSessions > 0 && OPEN_SESSIONS.get() >= canvasAboveSessions) {
+            return BoardRenderer.CANVAS;
+        }
+        return BoardRenderer.NODES;
+    }
+
+    private void preloadCardImages() {
+        double outputScale = Screen.getPrimary().getOutputScaleX();
+        Set<CardImageVariant> variants = EnumSet.of(
+            CardImageVariant.select(dimensionService.cardWidthProperty().get(), outputScale),
+            CardImageVariant.select(dimensionService.smallCardWidthProperty().get(), outputScale)
+        );
+        if (CardAtlas.isEnabled()) {
+            // Cards switch to the atlas pages once built; the build reports its own timing
+            variants.forEach(CardAtlas::buildAsync);
+            // Until then they show single images, so keep warming those for the atlases not built yet
+            variants.removeIf(variant -> CardAtlas.ifReady(variant) != null);
+        }
+        if (!variants.isEmpty()) {
+            CardImagePreloader.preload(variants).thenAccept(report -> System.out.println(report));
+        }
+        if (AssetUrls.isServing()) {
+            // Cumulative over sessions: with browser caching, requests and bytes stay flat as sessions start
+            System.out.println(AssetServer.shared().stats());
+        }
+    }
+
     private void setupInteractions() {
+        if (boardRenderer == BoardRenderer.CANVAS) {
+            // The canvas hit-tests clicks, drags and the End Turn button itself
+            BoardCanvas boardCanvas = canvasRootLayout.getBoardCanvas();
+            boardCanvas.setCardActivationCallback(this::handleCardActivation);
+            boardCanvas.setCardSwapCallback(this::handleCardSwap);
+            boardCanvas.setEndTurnCallback(this::handleEndTurn);
+            return;
+        }
+
+        GameAreasLayout gameAreasLayout = rootLayout.getGameAreasLayout();
+
         // Set up card activation callback for Present area
-        presentArea.setCandyActivationCallback(this::handleCardActivation);
+        gameAreasLayout.getPresentAreaLayout().setCandyActivationCallback(
+            cardComponent -> handleCardActivation(cardComponent.getCard()));
 
         // Set up card swap callback for Present area drag-and-drop
-        presentArea.setCardSwapCallback(this::handleCardSwap);
+        gameAreasLayout.getPresentAreaLayout().setCardSwapCallback(
+            (sourceCard, targetCard) -> handleCardSwap(sourceCard.getCard(), targetCard.getCard()));
 
         // Set up end turn button callback
-        activeStash.setEndTurnCallback(this::handleEndTurn);
+        gameAreasLayout.getActiveStashLayout().setEndTurnCallback(this::handleEndTurn);
     }
 
-    private void handleCardSwap(InteractiveCardComponent sourceCard, InteractiveCardComponent targetCard) {
+    private void handleCardSwap(Card sourceCard, Card targetCard) {
         GameState currentState = gameLoopManager.getCurrentState();
 
         if (currentState == null || currentState.gameEnd()) {
@@ -103,12 +205,8 @@ public class GameController {
         }
 
         // Check if EXCHANGE_PRESENT_CARD_ORDER is available
-        boolean canSwap = abilityActivationManager.canActivateAbility(
-                sourceCard.getCard(),
-                AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER,
-                currentState,
-                new HashSet<>()
-        );
+        boolean canSwap = gameLoopManager.getLegalActions()
+                .canActivate(AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER, sourceCard);
 
         if (!canSwap) {
             System.out.println("Cannot swap cards: EXCHANGE_PRESENT_CARD_ORDER not available");
@@ -122,10 +220,10 @@ public class GameController {
 
         for (int i = 0; i < presentCards.size(); i++) {
             Card presentCard = presentCards.get(i);
-            if (presentCard.equals(sourceCard.getCard())) {
+            if (presentCard.equals(sourceCard)) {
                 sourceIndex = i;
             }
-            if (presentCard.equals(targetCard.getCard())) {
+            if (presentCard.equals(targetCard)) {
                 targetIndex = i;
             }
         }
@@ -135,7 +233,7 @@ public class GameController {
             return;
         }
 
-        System.out.println("🔄 Swapping cards " + sourceCard.getCard().number() + " and " + targetCard.getCard().number()
+        System.out.println("🔄 Swapping cards " + sourceCard.number() + " and " + targetCard.number()
                 + " at indices " + sourceIndex + " and " + targetIndex);
 
         // Pre-select the card indices for the decision provider
@@ -155,9 +253,15 @@ public class GameController {
     }
 
     private void setupGameLoop() {
-        // Set up UI synchronization when game state changes
+        // Set up UI synchronization when game state changes. This stays a synchronous listener rather than a
+        // conflated stateUpdates() subscription: the game loop runs on the FX thread and may block for a decision
+        // right after an update, so the board has to be rendered before the call returns, not in a later pulse
         gameLoopManager.addStateUpdateListener(state -> {
-            uiSynchronizer.updateUI(state);
+            if (boardRenderer == BoardRenderer.CANVAS) {
+                canvasRootLayout.getBoardCanvas().setGameState(state);
+            } else {
+                uiSynchronizer.updateUI(state);
+            }
             System.out.println("🔄 Game state updated: " + getGameStateInfo(state));
         });
 
@@ -165,8 +269,7 @@ public class GameController {
         gameLoopManager.startGame();
     }
 
-    private void handleCardActivation(InteractiveCardComponent cardComponent) {
-        Card card = cardComponent.getCard();
+    private void handleCardActivation(Card card) {
         GameState currentState = gameLoopManager.getCurrentState();
 
         if (currentState == null || currentState.gameEnd()) {
@@ -191,7 +294,7 @@ public class GameController {
 
         // Get available abilities for this card
         List<AbilitySpec> availableAbilities = abilityActivationManager.getAvailableAbilities(
-                card, currentState, new HashSet<>()
+                card, gameLoopManager.getLegalActions()
         );
 
         if (availableAbilities.isEmpty()) {
@@ -237,14 +340,35 @@ public class GameController {
             state.activeStash().coffee());
     }
 
+    /**
+     * The node-based root layout, or null with the canvas renderer.
+     */
     public GameRootLayout getRootLayout() {
         return rootLayout;
     }
 
+    /**
+     * The canvas root layout, or null with the node renderer.
+     */
+    public CanvasRootLayout getCanvasRootLayout() {
+        return canvasRootLayout;
+    }
+
+    public BoardRenderer getBoardRenderer() {
+        return boardRenderer;
+    }
+
     public DimensionService getDimensionService() {
         return dimensionService;
     }
 
+    /**
+     * The coordinator debouncing scene resizes, or null in scaled mode or when resizes are not debounced.
+     */
+    public ResizeCoordinator getResizeCoordinator() {
+        return resizeCoordinator;
+    }
+
     public UIDecisionProvider getDecisionProvider() {
         return decisionProvider;
     }
@@ -1,6 +1,7 @@
 package com.adrian.finished.ui.layout;
 
 import com.adrian.finished.ui.DimensionService;
+import com.adrian.finished.ui.assets.ImageCache;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -72,9 +73,10 @@ public class ActiveStashLayout extends Region {
 
     private void loadAssets() {
         try {
-            this.candyImage = new Image(getClass().getResourceAsStream("/assets/other/candy.png"));
-            this.candyOutlineImage = new Image(getClass().getResourceAsStream("/assets/other/candy-outline.png"));
-            this.coffeeImage = new Image(getClass().getResourceAsStream("/assets/other/coffee.png"));
+            // Shared with other sessions, and loaded by URL so browsers can cache them under JPro
+            this.candyImage = ImageCache.get("/assets/other/candy.png");
+            this.candyOutlineImage = ImageCache.get("/assets/other/candy-outline.png");
+            this.coffeeImage = ImageCache.get("/assets/other/coffee.png");
         } catch (Exception e) {
             System.err.println("Warning: Could not load token assets: " + e.getMessage());
             // Assets will be null, ImageViews will handle gracefully
@@ -0,0 +1,68 @@
+package com.adrian.finished.ui.layout;
+
+import com.adrian.finished.ui.DimensionService;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.transform.Scale;
+
+/**
+ * Scene root for debounced resizing (see ResizeCoordinator).
+ *
+ * The game root (GameRootLayout, or CanvasRootLayout with the canvas renderer) is always laid out at the
+ * size last published by its DimensionService. While a resize is settling, the scene already has its new
+ * size but the dimensions do not: the laid out board is then fitted into the scene by a Scale transform,
+ * letterboxed and centered, which is a cheap live preview that touches no binding and lays out no node.
+ * Once the resize settles, the new dimensions are published, the board is laid out once at the new size
+ * and the transform returns to identity.
+ */
+public class DebouncedRootPane extends Pane {
+
+    private final Region content;
+    private final DimensionService dimensionService;
+    private final Scale preview = new Scale(1, 1, 0, 0);
+
+    public DebouncedRootPane(Region content, DimensionService dimensionService) {
+        super(content);
+        this.content = content;
+        this.dimensionService = dimensionService;
+
+        getStyleClass().add("game-root");
+        content.getTransforms().add(preview);
+
+        // A published size needs a layout pass even when the scene size itself did not change since
+        dimensionService.snapshotProperty().addListener(obs -> requestLayout());
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double publishedWidth = dimensionService.sceneWidthProperty().get();
+        double publishedHeight = dimensionService.sceneHeightProperty().get();
+        if (!(publishedWidth > 0) || !(publishedHeight > 0)) {
+            return;
+        }
+        double zoom = Math.min(getWidth() / publishedWidth, getHeight() / publishedHeight);
+        if (!(zoom > 0)) {
+            return;
+        }
+        preview.setX(zoom);
+        preview.setY(zoom);
+        // Only resized, and so laid out again, when the published size changes
+        content.resizeRelocate(
+            (getWidth() - publishedWidth * zoom) / 2,
+            (getHeight() - publishedHeight * zoom) / 2,
+            publishedWidth,
+            publishedHeight
+        );
+    }
+
+    /**
+     * True while the board is shown scaled because a resize has not settled yet.
+     */
+    public boolean isPreviewing() {
+        return preview.getX() != 1.0;
+    }
+
+    public Region getContent() {
+        return content;
+    }
+}
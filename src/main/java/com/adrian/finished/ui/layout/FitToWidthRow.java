@@ -0,0 +1,89 @@
+package com.adrian.finished.ui.layout;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import javafx.scene.transform.Scale;
+
+import java.util.List;
+
+/**
+ * A centered horizontal row that never overflows: when its children do not fit at their preferred size,
+ * the whole row is scaled down uniformly until they do (no horizontal scrolling, scale to fit).
+ *
+ * Children keep their preferred size, so their size bindings are left alone. The scale is one transform on
+ * the row, and each layout pass is two loops over the children that allocate nothing.
+ */
+public class FitToWidthRow extends Region {
+
+    private final DoubleProperty spacing = new SimpleDoubleProperty(this, "spacing", 0) {
+        @Override
+        protected void invalidated() {
+            requestLayout();
+        }
+    };
+    private final Scale fit = new Scale(1, 1, 0, 0);
+
+    public FitToWidthRow() {
+        getTransforms().add(fit);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        List<Node> children = getManagedChildren();
+        int count = children.size();
+        if (count == 0) {
+            return;
+        }
+
+        // Natural size of the row
+        double gap = snapSpaceX(getSpacing());
+        double naturalWidth = gap * (count - 1);
+        double naturalHeight = 0;
+        for (int i = 0; i < count; i++) {
+            Node child = children.get(i);
+            naturalWidth += snapSizeX(child.prefWidth(-1));
+            naturalHeight = Math.max(naturalHeight, snapSizeY(child.prefHeight(-1)));
+        }
+
+        Insets insets = getInsets();
+        double availableWidth = Math.max(0, getWidth() - insets.getLeft() - insets.getRight());
+        double availableHeight = Math.max(0, getHeight() - insets.getTop() - insets.getBottom());
+        double scale = 1.0;
+        if (naturalWidth > availableWidth && naturalWidth > 0) {
+            scale = availableWidth / naturalWidth;
+        }
+        if (naturalHeight * scale > availableHeight && naturalHeight > 0) {
+            scale = availableHeight / naturalHeight;
+        }
+        if (!(scale > 0)) {
+            return;
+        }
+        fit.setX(scale);
+        fit.setY(scale);
+
+        // Positions are in the row's unscaled coordinates: center the scaled row in the available area
+        double x = (insets.getLeft() + (availableWidth - naturalWidth * scale) / 2) / scale;
+        double top = (insets.getTop() + (availableHeight - naturalHeight * scale) / 2) / scale;
+        for (int i = 0; i < count; i++) {
+            Node child = children.get(i);
+            double width = snapSizeX(child.prefWidth(-1));
+            double height = snapSizeY(child.prefHeight(-1));
+            child.resizeRelocate(x, top + (naturalHeight - height) / 2, width, height);
+            x += width + gap;
+        }
+    }
+
+    /**
+     * The scale the row is currently drawn at, 1.0 when all children fit.
+     */
+    public double getFitScale() {
+        return fit.getX();
+    }
+
+    public DoubleProperty spacingProperty() { return spacing; }
+    public double getSpacing() { return spacing.get(); }
+    public void setSpacing(double value) { spacing.set(value); }
+}
@@ -1,15 +1,26 @@
 package com.adrian.finished.ui.layout;
 
 import com.adrian.finished.ui.DimensionService;
+import com.adrian.finished.ui.assets.BackgroundImageService;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 
 /**
  * Root layout container for the entire game UI.
- * Contains the game areas and overlays like the finished pile.
+ * Contains the table background, the game areas and overlays like the finished pile.
+ * The background is only decoded when one is selected, e.g. with -Dfinished.background=&lt;0-48&gt;.
  */
 public class GameRootLayout extends StackPane {
 
     private final DimensionService dimensionService;
+    private final BackgroundImageService backgroundImageService;
+    private final Region backgroundLayer;
     private final GameAreasLayout gameAreasLayout;
     private final FinishedPileOverlay finishedPileOverlay;
 
@@ -20,18 +31,26 @@ public class GameRootLayout extends StackPane {
         // Set CSS style class
         getStyleClass().add("game-root");
 
+        // Create the background layer; the image is decoded off the FX thread at scene size
+        this.backgroundImageService = new BackgroundImageService(dimensionService);
+        this.backgroundLayer = new Region();
+        backgroundLayer.setMouseTransparent(true);
+        backgroundImageService.imageProperty().addListener((obs, oldImage, newImage) -> applyBackground(newImage));
+
         // Create main game areas layout
         this.gameAreasLayout = new GameAreasLayout(dimensionService);
 
         // Create finished pile overlay
         this.finishedPileOverlay = new FinishedPileOverlay(dimensionService);
 
-        // Add components to stack pane (game areas first, then overlay)
-        getChildren().addAll(gameAreasLayout, finishedPileOverlay);
+        // Add components to stack pane (background first, then game areas, then overlay)
+        getChildren().addAll(backgroundLayer, gameAreasLayout, finishedPileOverlay);
 
         // Bind sizes
         setupLayout();
 
+        selectInitialBackground();
+
         System.out.println("GameRootLayout created with " + getChildren().size() + " children");
     }
 
@@ -54,6 +73,37 @@ public class GameRootLayout extends StackPane {
         finishedPileOverlay.toFront();
     }
 
+    private void applyBackground(Image image) {
+        if (image == null) {
+            backgroundLayer.setBackground(null);
+            return;
+        }
+        // Cover the whole root, cropping the overflow, like CSS background-size: cover
+        backgroundLayer.setBackground(new Background(new BackgroundImage(
+            image,
+            BackgroundRepeat.NO_REPEAT,
+            BackgroundRepeat.NO_REPEAT,
+            BackgroundPosition.CENTER,
+            new BackgroundSize(BackgroundSize.AUTO, BackgroundSize.AUTO, false, false, false, true)
+        )));
+    }
+
+    private void selectInitialBackground() {
+        String configured = System.getProperty("finished.background");
+        if (configured == null || configured.isBlank()) {
+            return;
+        }
+        try {
+            backgroundImageService.select(Integer.parseInt(configured.trim()));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Ignoring finished.background=" + configured + ": " + e.getMessage());
+        }
+    }
+
+    public BackgroundImageService getBackgroundImageService() {
+        return backgroundImageService;
+    }
+
     public GameAreasLayout getGameAreasLayout() {
         return gameAreasLayout;
     }
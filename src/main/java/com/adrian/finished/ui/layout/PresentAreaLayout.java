@@ -5,9 +5,7 @@ import com.adrian.finished.ui.DimensionService;
 import com.adrian.finished.ui.card.InteractiveCardComponent;
 import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
-import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 
 import java.util.ArrayList;
@@ -17,12 +15,13 @@ import java.util.List;
 /**
  * Layout for the Present Area where players can interact with cards.
  * Displays cards horizontally and handles candy activation interactions
- * and drag-and-drop reordering.
+ * and drag-and-drop reordering. When cards are added (DRAW_TWO, CARDS_FROM_PAST, ...)
+ * the row is scaled down to fit instead of overflowing, see {@link FitToWidthRow}.
  */
 public class PresentAreaLayout extends Region {
 
     private final DimensionService dimensionService;
-    private final HBox contentArea;
+    private final FitToWidthRow contentArea;
     private CandyActivationCallback candyActivationCallback;
     private final List<InteractiveCardComponent> cardComponents = new ArrayList<>();
     private CardSwapCallback cardSwapCallback;
@@ -54,8 +53,7 @@ public class PresentAreaLayout extends Region {
         getStyleClass().add("present-area-background");
 
         // Create content area
-        this.contentArea = new HBox();
-        contentArea.setAlignment(Pos.CENTER);
+        this.contentArea = new FitToWidthRow();
         contentArea.spacingProperty().bind(dimensionService.gapMediumProperty());
         contentArea.paddingProperty().bind(Bindings.createObjectBinding(
             () -> new Insets(dimensionService.gapMediumProperty().get()),
@@ -89,15 +87,11 @@ public class PresentAreaLayout extends Region {
             return;
         }
 
-        // Add all cards with proper scaling if needed
+        // Add all cards; the row scales them down if they don't fit
         for (Card card : cards) {
-            InteractiveCardComponent cardComponent = createInteractiveCard(card);
-            cardComponents.add(cardComponent);
-            contentArea.getChildren().add(cardComponent);
+            cardComponents.add(createInteractiveCard(card));
         }
-
-        // Scale cards if too many to fit (following global UI rules)
-        scaleCardsIfNeeded();
+        contentArea.getChildren().setAll(cardComponents);
     }
 
     private InteractiveCardComponent createInteractiveCard(Card card) {
@@ -155,12 +149,8 @@ public class PresentAreaLayout extends Region {
 
 
     private void updateVisualLayout() {
-        // Clear and re-add all cards in the new order
-        contentArea.getChildren().clear();
-
-        for (InteractiveCardComponent cardComponent : cardComponents) {
-            contentArea.getChildren().add(cardComponent);
-        }
+        // Reorder the existing cards in a single change
+        contentArea.getChildren().setAll(cardComponents);
     }
 
     /**
@@ -172,13 +162,7 @@ public class PresentAreaLayout extends Region {
             .toList();
     }
 
-    private void scaleCardsIfNeeded() {
-        // Implementation would scale cards down if they don't fit horizontally
-        // Following the global UI rule: no horizontal scrolling, scale to fit
-        // This would be implemented based on actual card widths and container width
-    }
-
-    public HBox getContentArea() {
+    public FitToWidthRow getContentArea() {
         return contentArea;
     }
 }
@@ -0,0 +1,97 @@
+package com.adrian.finished.ui.layout;
+
+import com.adrian.finished.ui.DimensionService;
+import javafx.application.Platform;
+import javafx.scene.CacheHint;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.transform.Scale;
+
+/**
+ * Scene root for the scaled rendering mode (-Dfinished.render.mode=scaled).
+ *
+ * The game root (GameRootLayout, or CanvasRootLayout with the canvas renderer) is laid out once at the
+ * fixed logical resolution of its DimensionService and fitted into the scene by a single Scale transform,
+ * letterboxed and centered. A resize then only updates the transform: no binding is invalidated and no
+ * node is laid out again, however many cards are on the board.
+ *
+ * While resizing, the board is drawn from a cached bitmap that is only scaled. The zoom is quantized to steps
+ * of {@link #ZOOM_STEP}; when the step changes the bitmap is re-rasterised at the new zoom, and the render
+ * scale of the DimensionService is updated so cards switch to art that is sharp at that zoom.
+ */
+public class ScaledRootPane extends Pane {
+
+    public static final double ZOOM_STEP = 0.25;
+
+    private final Region content;
+    private final DimensionService dimensionService;
+    private final double logicalWidth;
+    private final double logicalHeight;
+    private final Scale scale = new Scale(1, 1, 0, 0);
+    private boolean recachePending;
+
+    public ScaledRootPane(Region content, DimensionService dimensionService) {
+        super(content);
+        this.content = content;
+        this.dimensionService = dimensionService;
+        this.logicalWidth = dimensionService.sceneWidthProperty().get();
+        this.logicalHeight = dimensionService.sceneHeightProperty().get();
+
+        getStyleClass().add("game-root");
+
+        // Fixed logical size; only the transform follows the scene
+        content.setMinSize(logicalWidth, logicalHeight);
+        content.setPrefSize(logicalWidth, logicalHeight);
+        content.setMaxSize(logicalWidth, logicalHeight);
+        content.getTransforms().add(scale);
+        content.setCache(true);
+        content.setCacheHint(CacheHint.SCALE);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double zoom = Math.min(getWidth() / logicalWidth, getHeight() / logicalHeight);
+        if (!(zoom > 0)) {
+            return;
+        }
+        scale.setX(zoom);
+        scale.setY(zoom);
+        content.resizeRelocate(
+            (getWidth() - logicalWidth * zoom) / 2,
+            (getHeight() - logicalHeight * zoom) / 2,
+            logicalWidth,
+            logicalHeight
+        );
+
+        // Round up, so images are never drawn from fewer pixels than they cover
+        double zoomStep = Math.max(ZOOM_STEP, Math.ceil(zoom / ZOOM_STEP) * ZOOM_STEP);
+        if (zoomStep != dimensionService.getRenderScale()) {
+            dimensionService.setRenderScale(zoomStep);
+            rerasterize();
+        }
+    }
+
+    /**
+     * Drops the cached bitmap so it is drawn again at the current zoom. Turning the cache off and on within
+     * the same pulse changes nothing on screen, so the board is rendered uncached in this pulse and cached
+     * again after it, which rasterises the bitmap at the new zoom.
+     */
+    private void rerasterize() {
+        content.setCache(false);
+        if (!recachePending) {
+            recachePending = true;
+            Platform.runLater(() -> {
+                recachePending = false;
+                content.setCache(true);
+            });
+        }
+    }
+
+    public double getZoom() {
+        return scale.getX();
+    }
+
+    public Region getContent() {
+        return content;
+    }
+}
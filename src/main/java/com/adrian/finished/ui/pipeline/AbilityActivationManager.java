@@ -1,9 +1,9 @@
 package com.adrian.finished.ui.pipeline;
 
 import com.adrian.finished.model.Card;
-import com.adrian.finished.model.GameState;
 import com.adrian.finished.model.abilities.AbilityPhase;
 import com.adrian.finished.model.abilities.AbilitySpec;
+import com.adrian.finished.model.abilities.LegalActions;
 import java.util.*;
 
 /**
@@ -16,53 +16,23 @@ public class AbilityActivationManager {
     private static final Map<Integer, AbilitySpec> CARD_ABILITIES = createCardAbilityMap();
 
     /**
-     * Get all abilities that can be activated for a specific card.
+     * Get all abilities that can be activated for a specific card, given the legal actions of the current state.
      */
-    public List<AbilitySpec> getAvailableAbilities(Card card, GameState state, Set<AbilitySpec> usedAbilities) {
-        AbilitySpec cardAbility = CARD_ABILITIES.getOrDefault(card.number(), null);
-        List<AbilitySpec> available = new ArrayList<>();
-
-        if (canActivateAbility(card, cardAbility, state, usedAbilities)) {
-            available.add(cardAbility);
+    public List<AbilitySpec> getAvailableAbilities(Card card, LegalActions legalActions) {
+        AbilitySpec cardAbility = CARD_ABILITIES.get(card.number());
+        if (cardAbility != null && legalActions.canActivate(cardAbility, card)) {
+            return List.of(cardAbility);
         }
-
-        return available;
+        return List.of();
     }
 
     /**
-     * Check if a specific ability can be activated on a card.
+     * Check if a specific ability can be activated on a card, given the legal actions of the current state
+     * (GameLoopManager.getLegalActions()).
+     * See {@link LegalActions} for the rules (used this turn, card uses left, candy, present size).
      */
-    public boolean canActivateAbility(Card card, AbilitySpec ability, GameState state, Set<AbilitySpec> usedAbilities) {
-        // Check if ability has already been used this turn
-        if (usedAbilities.contains(ability)) {
-            return false;
-        }
-
-        // Check if card still has ability uses remaining
-        if (ability.requiresCandy() && !card.canTriggerAbility()) {
-            return false;
-        }
-
-        // Check if player has enough candy in active stash
-        if (ability.requiresCandy() && state.activeStash().candy() <= 0) {
-            return false;
-        }
-
-        // Only manual abilities can be activated by user
-        if (ability.phase() != com.adrian.finished.model.abilities.AbilityPhase.USER_INPUT_REQUIRED) {
-            return false;
-        }
-
-        // Specific ability checks
-        return switch (ability) {
-            case EXCHANGE_PRESENT_CARD_ORDER ->
-                // Need at least 2 cards in present
-                    state.present().cards().size() >= 2;
-            case CARDS_INTO_PAST ->
-                // Need at least 2 cards in present
-                    state.present().cards().size() >= 2;
-            default -> true;
-        };
+    public boolean canActivateAbility(Card card, AbilitySpec ability, LegalActions legalActions) {
+        return legalActions.canActivate(ability, card);
     }
 
     /**
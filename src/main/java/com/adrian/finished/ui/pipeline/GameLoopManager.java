@@ -3,7 +3,14 @@ package com.adrian.finished.ui.pipeline;
 import com.adrian.finished.core.*;
 import com.adrian.finished.model.*;
 import com.adrian.finished.model.abilities.*;
+import com.adrian.finished.search.DealAnalyzer;
+import com.adrian.finished.search.WinnableSeedPool;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 
 /**
@@ -24,18 +31,48 @@ import java.util.function.Consumer;
  */
 public class GameLoopManager {
 
+    /**
+     * Fraction of ability executions checked for card/candy conservation; override with
+     * -Dfinished.invariants.sampleRate=1.0 while debugging, or 0 to disable.
+     */
+    private static final double INVARIANT_SAMPLE_RATE =
+            parseSampleRate(System.getProperty("finished.invariants.sampleRate"), 0.05);
+
+    /**
+     * -Dfinished.abilityEvents.log=true logs every ability execution from an event bus consumer thread.
+     */
+    private static final boolean LOG_ABILITY_EVENTS = Boolean.getBoolean("finished.abilityEvents.log");
+
+    /**
+     * Winnable-deals-only mode: -Dfinished.deals.pool=<file> deals games from a pool built with
+     * WinnableSeedPool (null when the mode is off or the pool can't be opened).
+     */
+    private static final WinnableSeedPool SEED_POOL = openSeedPool(System.getProperty("finished.deals.pool"));
+
     private GameState currentState;
     private final UIDecisionProvider decisionProvider;
     private final Map<AbilitySpec, AbilityExecutor> executors;
-    private final List<Consumer<GameState>> stateUpdateListeners = new ArrayList<>();
+    private final List<Consumer<GameState>> stateUpdateListeners = new CopyOnWriteArrayList<>();
+    private final GameStatePublisher statePublisher = new GameStatePublisher();
+    // Every ability execution of this game loop; the game loop thread is its only producer
+    private final AbilityEventBus abilityEvents = new AbilityEventBus();
     private boolean gameRunning = false;
 
-    // Track which manual abilities have been used this turn
+    // Track which manual abilities have been used this turn. The rules only limit each card (abilitiesTriggered
+    // up to maxAbilities, checked by LegalActions, and RESET_CANDIES makes them usable again), so no ability
+    // is blocked turn-wide and the set stays empty
     private final Set<AbilitySpec> usedManualAbilities = new HashSet<>();
 
+    // Legal manual actions, cached per state revision
+    private final LegalActionGenerator legalActionGenerator = new LegalActionGenerator();
+
     public GameLoopManager(UIDecisionProvider decisionProvider) {
         this.decisionProvider = decisionProvider;
         this.executors = createExecutorMap();
+        if (LOG_ABILITY_EVENTS) {
+            abilityEvents.subscribe("log", event -> System.out.println("📜 " + event.ability()
+                    + (event.before() == event.after() ? " (no change)" : " -> state updated")));
+        }
     }
 
     /**
@@ -55,7 +92,7 @@ public class GameLoopManager {
         // Execute BEGIN_GAME ability
         AbilityContext beginGameContext = new AbilityContext(initialState, AbilitySpec.BEGIN_GAME, decisionProvider);
         System.out.println("ADRIAN 1");
-        currentState = executors.get(AbilitySpec.BEGIN_GAME).apply(beginGameContext);
+        currentState = beginGameExecutor().apply(beginGameContext);
 
         gameRunning = true;
         notifyStateUpdate();
@@ -115,6 +152,8 @@ public class GameLoopManager {
         } catch (Exception e) {
             System.err.println("❌ Error in game loop: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            completeStateUpdatesIfEnded();
         }
     }
 
@@ -157,6 +196,8 @@ public class GameLoopManager {
         } catch (Exception e) {
             System.err.println("❌ Error ending turn: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            completeStateUpdatesIfEnded();
         }
     }
 
@@ -178,6 +219,11 @@ public class GameLoopManager {
             return false;
         }
 
+        if (!getLegalActions().isLegal(ability)) {
+            System.out.println("ℹ️ " + ability + " is not available in the current state");
+            return false;
+        }
+
         try {
             System.out.println("🎯 Executing manual ability: " + ability);
 
@@ -238,6 +284,8 @@ public class GameLoopManager {
             System.err.println("❌ Error executing manual ability " + ability + ": " + e.getMessage());
             e.printStackTrace();
             return false;
+        } finally {
+            completeStateUpdatesIfEnded();
         }
     }
 
@@ -304,16 +352,51 @@ public class GameLoopManager {
     }
 
     /**
-     * Add a listener for game state updates.
+     * Add a listener for game state updates. Listeners run synchronously on the game loop thread, which the
+     * UI relies on: the loop may block for a decision right after an update, and the board must already show
+     * that state when it does. Slow consumers should subscribe to {@link #stateUpdates()} instead.
      */
     public void addStateUpdateListener(Consumer<GameState> listener) {
         stateUpdateListeners.add(listener);
     }
 
+    public void removeStateUpdateListener(Consumer<GameState> listener) {
+        stateUpdateListeners.remove(listener);
+    }
+
+    /**
+     * Stream of game states for consumers that must not run on (or slow down) the game loop, such as
+     * analytics and recorders. Subscribers conflate to the latest state by default; use
+     * {@link #subscribeToStateUpdates} for a bounded or drop-oldest buffer. The stream completes once the game
+     * ends or is stopped, so subscribers can release their buffers.
+     */
+    public Flow.Publisher<GameState> stateUpdates() {
+        return statePublisher;
+    }
+
+    public void subscribeToStateUpdates(Flow.Subscriber<? super GameState> subscriber,
+                                        GameStatePublisher.BufferPolicy policy, int capacity) {
+        statePublisher.subscribe(subscriber, policy, capacity);
+    }
+
+    /**
+     * Subscribe to every ability execution (ability, state before and after) on a consumer thread of the
+     * game loop's {@link AbilityEventBus}. Events are delivered in execution order; a consumer that falls a
+     * full ring behind skips the oldest events and never slows down the game loop.
+     */
+    public void subscribeToAbilityEvents(String name, AbilityExecutionListener listener) {
+        abilityEvents.subscribe(name, listener);
+    }
+
+    public List<AbilityEventBus.ConsumerMetrics> abilityEventMetrics() {
+        return abilityEvents.metrics();
+    }
+
     /**
      * Notify all listeners of a state update.
      */
     private void notifyStateUpdate() {
+        statePublisher.submit(currentState);
         for (Consumer<GameState> listener : stateUpdateListeners) {
             try {
                 listener.accept(currentState);
@@ -323,6 +406,16 @@ public class GameLoopManager {
         }
     }
 
+    /**
+     * Complete the state stream once the game has ended. Called after a whole sequence has run, so the final
+     * GAME_END_WIN / GAME_END_LOSE state is still delivered.
+     */
+    private void completeStateUpdatesIfEnded() {
+        if (currentState != null && currentState.gameEnd()) {
+            statePublisher.close();
+        }
+    }
+
     /**
      * Create the initial empty game state.
      */
@@ -344,47 +437,113 @@ public class GameLoopManager {
      * Create the map of ability executors.
      */
     private Map<AbilitySpec, AbilityExecutor> createExecutorMap() {
-        Map<AbilitySpec, AbilityExecutor> map = new HashMap<>();
-
-        // Automatic abilities
-        map.put(AbilitySpec.BEGIN_GAME, new BeginGameExecutor());
-        map.put(AbilitySpec.BEGIN_TURN, new BeginTurnExecutor());
-        map.put(AbilitySpec.TAKE_CANDY, new TakeCandyExecutor());
-        map.put(AbilitySpec.SCORE_CARD, new ScoreCardExecutor());
-        map.put(AbilitySpec.END_TURN_BEGIN, new EndTurnBeginExecutor());
-        map.put(AbilitySpec.SEQUENCE_RULE, new SequenceRuleExecutor());
-        map.put(AbilitySpec.DRINK_COFEE, new DrinkCofeeExecutor());
-        map.put(AbilitySpec.END_TURN_END, new EndTurnEndExecutor());
-        map.put(AbilitySpec.GAME_END_WIN, new GameEndWinExecutor());
-        map.put(AbilitySpec.GAME_END_LOSE, new GameEndLoseExecutor());
-
-        // Manual abilities
-        map.put(AbilitySpec.DRAW_TWO, new DrawTwoExecutor());
-        map.put(AbilitySpec.CARDS_INTO_PAST, new CardsIntoPastExecutor());
-        map.put(AbilitySpec.ALL_CARDS_INTO_FUTURE, new AllCardsIntoFutureExecutor());
-        map.put(AbilitySpec.DRAW_ONE, new DrawOneExecutor());
-        map.put(AbilitySpec.DRAW_ONE_3X, new DrawOne3xExecutor());
-        map.put(AbilitySpec.EXCHANGE_CARD, new ExchangeCardExecutor());
-        map.put(AbilitySpec.CARDS_FROM_PAST, new CardsFromPastExecutor());
-        map.put(AbilitySpec.CARD_INTO_FUTURE, new CardIntoFutureExecutor());
-        map.put(AbilitySpec.EXCHANGE_PRESENT_CARD_ORDER, new ExchangePresentCardOrderExecutor());
-        map.put(AbilitySpec.RESET_CANDIES, new ResetCandiesExecutor());
-        map.put(AbilitySpec.BELOW_THE_STACK, new BelowTheStackExecutor());
+        Map<AbilitySpec, AbilityExecutor> map = StandardExecutors.create();
+
+        // Sampled conservation checks so engine bugs surface without a full-check cost per transition,
+        // then every execution is published to the event bus
+        map.replaceAll((ability, executor) -> decorate(executor));
 
         return map;
     }
 
+    /**
+     * BEGIN_GAME executor for the next game: a verified winnable deal from the seed pool if the mode is on and
+     * the pool isn't exhausted, otherwise a random shuffle.
+     */
+    private AbilityExecutor beginGameExecutor() {
+        OptionalLong seed = SEED_POOL == null ? OptionalLong.empty() : SEED_POOL.next();
+        if (seed.isEmpty()) {
+            return executors.get(AbilitySpec.BEGIN_GAME);
+        }
+        System.out.println("🎲 Dealing winnable seed " + seed.getAsLong());
+        return decorate(new BeginGameExecutor(new Random(seed.getAsLong())));
+    }
+
+    private AbilityExecutor decorate(AbilityExecutor executor) {
+        return AbilityExecutors.withEventBus(
+                AbilityExecutors.withInvariantChecks(executor, INVARIANT_SAMPLE_RATE, this::reportInvariantViolation),
+                abilityEvents, this::reportEventBusFailure);
+    }
+
+    private static WinnableSeedPool openSeedPool(String file) {
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            Path poolFile = Path.of(file);
+            WinnableSeedPool pool = WinnableSeedPool.open(poolFile);
+            // Verify new deals on half the cores, keeping the rest for the UI; results are kept for rebuilding the pool
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            DealAnalyzer analyzer = new DealAnalyzer(DealAnalyzer.DEFAULT_DEAL_BUDGET, DealAnalyzer.DEFAULT_TURN_BUDGET,
+                    DealAnalyzer.DEFAULT_MAX_PLAYOUTS, threads);
+            pool.enableRefill(analyzer, 16, 32, poolFile.resolveSibling(poolFile.getFileName() + ".reports"));
+            System.out.println("🎲 Winnable deals only: " + pool.remaining() + " seeds in pool");
+            return pool;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Seed pool unavailable, dealing random games: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Log an engine invariant violation; the game keeps running with the produced state.
+     */
+    private void reportInvariantViolation(InvariantViolation violation) {
+        System.err.println("⚠️ Invariant violated by " + violation.ability() + ": " + violation.violations());
+        System.err.println("   before: " + violation.before());
+        System.err.println("   after:  " + violation.after());
+    }
+
+    /**
+     * Log an ability event that could not be published; the game keeps running and subscribers miss the event.
+     */
+    private void reportEventBusFailure(RuntimeException failure) {
+        System.err.println("⚠️ Ability event not published on " + Thread.currentThread().getName() + ": "
+                + failure.getMessage());
+    }
+
+    private static double parseSampleRate(String value, double defaultRate) {
+        if (value == null) {
+            return defaultRate;
+        }
+        try {
+            double rate = Double.parseDouble(value);
+            return rate >= 0.0 && rate <= 1.0 ? rate : defaultRate;
+        } catch (NumberFormatException e) {
+            return defaultRate;
+        }
+    }
+
     // Getters
     public GameState getCurrentState() {
         return currentState;
     }
 
+    /**
+     * Get the legal manual actions for the current state and the abilities already used this turn.
+     */
+    public LegalActions getLegalActions() {
+        if (!gameRunning || currentState == null) {
+            return LegalActions.none();
+        }
+        return legalActionGenerator.generate(currentState, usedManualAbilities);
+    }
+
+    /**
+     * The abilities used this turn as a {@link LegalActions} mask, e.g. for searching the rest of the turn
+     * with the same legality as {@link #getLegalActions()}.
+     */
+    public long usedAbilityMask() {
+        return LegalActions.maskOf(usedManualAbilities);
+    }
+
     public boolean isGameRunning() {
         return gameRunning;
     }
 
     public void stopGame() {
         gameRunning = false;
+        statePublisher.close();
         System.out.println("🛑 Game stopped");
     }
 }
@@ -0,0 +1,242 @@
+package com.adrian.finished.ui.pipeline;
+
+import com.adrian.finished.model.GameState;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flow.Publisher of game states with a buffer per subscriber, so analytics, recorders and other consumers
+ * read the state stream at their own pace without ever stalling the game loop.
+ *
+ * {@link #submit(GameState)} never blocks: it appends to each subscriber's buffer and schedules delivery on
+ * the executor. Delivery honours the subscriber's demand and is serialized per subscriber; the buffer policy
+ * decides what happens while a subscriber has no demand:
+ * - CONFLATE: only the latest state is kept (the right choice for views that render "now"),
+ * - BOUNDED: every state is kept up to the capacity; on overflow the subscriber gets onError and is dropped,
+ * - DROP_OLDEST: the newest {@code capacity} states are kept, older ones are discarded.
+ *
+ * A new subscriber first receives the latest submitted state, if any. Cancelling removes the subscriber and
+ * frees its buffer; {@link #close()} completes every subscriber after its buffer is delivered.
+ */
+public final class GameStatePublisher implements Flow.Publisher<GameState>, AutoCloseable {
+
+    public enum BufferPolicy { CONFLATE, BOUNDED, DROP_OLDEST }
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Executor executor;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile GameState latest;
+    private volatile boolean closed;
+
+    /**
+     * Delivers on the common ForkJoinPool.
+     */
+    public GameStatePublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public GameStatePublisher(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+    }
+
+    /**
+     * Subscribes with conflation to the latest state.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameState> subscriber) {
+        subscribe(subscriber, BufferPolicy.CONFLATE, 1);
+    }
+
+    /**
+     * Subscribes with the given buffer policy; capacity is ignored for CONFLATE.
+     */
+    public void subscribe(Flow.Subscriber<? super GameState> subscriber, BufferPolicy policy, int capacity) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        Objects.requireNonNull(policy, "policy cannot be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, got: " + capacity);
+        }
+        Subscription subscription = new Subscription(subscriber, policy,
+                policy == BufferPolicy.CONFLATE ? 1 : capacity);
+        GameState current = latest;
+        if (current != null) {
+            subscription.offer(current);
+        }
+        if (closed) {
+            subscription.complete();
+        } else {
+            subscriptions.add(subscription);
+        }
+        subscription.drain();
+    }
+
+    /**
+     * Offers the state to every subscriber. Never blocks.
+     */
+    public void submit(GameState state) {
+        Objects.requireNonNull(state, "state cannot be null");
+        if (closed) {
+            return;
+        }
+        latest = state;
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(state);
+            subscription.drain();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Completes every subscriber once its buffered states are delivered. Later submits are ignored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.complete();
+            subscription.drain();
+        }
+        subscriptions.clear();
+    }
+
+    private final class Subscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super GameState> subscriber;
+        private final BufferPolicy policy;
+        private final int capacity;
+
+        // Guarded by this
+        private final ArrayDeque<GameState> buffer = new ArrayDeque<>();
+        private long demand;
+        private boolean completed;
+        private Throwable error;
+
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean started; // drain thread only
+
+        Subscription(Flow.Subscriber<? super GameState> subscriber, BufferPolicy policy, int capacity) {
+            this.subscriber = subscriber;
+            this.policy = policy;
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(GameState state) {
+            if (cancelled || completed) return;
+            if (buffer.size() == capacity) {
+                switch (policy) {
+                    case CONFLATE, DROP_OLDEST -> buffer.pollFirst();
+                    case BOUNDED -> {
+                        fail(new IllegalStateException("Subscriber buffer overflow: more than " + capacity
+                                + " undelivered states"));
+                        return;
+                    }
+                }
+            }
+            buffer.addLast(state);
+        }
+
+        synchronized void complete() {
+            completed = true;
+        }
+
+        private synchronized void fail(Throwable cause) {
+            buffer.clear();
+            completed = true;
+            error = cause;
+            subscriptions.remove(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request must be positive, got: " + n)); // rule 3.9
+            } else {
+                synchronized (this) {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // saturate, rule 3.17
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                buffer.clear();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                }
+            }
+        }
+
+        /**
+         * Delivery loop; at most one instance runs at a time, so signals are serial (rule 1.3).
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!started) {
+                    started = true;
+                    signal(() -> subscriber.onSubscribe(this));
+                }
+                while (!cancelled) {
+                    GameState next;
+                    Throwable failure = null;
+                    boolean done = false;
+                    synchronized (this) {
+                        next = demand > 0 ? buffer.pollFirst() : null;
+                        if (next != null) {
+                            demand--;
+                        } else if (completed && buffer.isEmpty()) {
+                            done = true;
+                            failure = error;
+                        }
+                    }
+                    if (next != null) {
+                        GameState state = next;
+                        signal(() -> subscriber.onNext(state));
+                    } else {
+                        if (done) {
+                            cancelled = true; // terminal: no further signals
+                            Throwable cause = failure;
+                            signal(cause == null ? subscriber::onComplete : () -> subscriber.onError(cause));
+                        }
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void signal(Runnable call) {
+            try {
+                call.run();
+            } catch (RuntimeException e) {
+                // A throwing subscriber is cancelled (rule 2.13) without affecting the others
+                System.err.println("Error in game state subscriber: " + e.getMessage());
+                cancel();
+            }
+        }
+    }
+}
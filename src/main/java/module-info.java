@@ -2,9 +2,8 @@ module com.adrian.finishedfx {
     requires javafx.controls;
     requires org.kordamp.ikonli.javafx;
     requires org.kordamp.ikonli.fontawesome5;
-    requires java.desktop;
-    requires javafx.swing;
     requires jpro.webapi;
+    requires jdk.httpserver;
 
     exports com.adrian;
 }
\ No newline at end of file